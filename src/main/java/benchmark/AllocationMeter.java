@@ -0,0 +1,36 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts bytes allocated by the current thread between {@link #start()} and {@link #stop()},
+ * as reported by the HotSpot {@code ThreadMXBean}.
+ */
+public class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final long threadId;
+    private final long allocatedAtStart;
+
+    private long allocatedBytes;
+
+    private AllocationMeter() {
+        this.threadId = Thread.currentThread().getId();
+        this.allocatedAtStart = threadMXBean.getThreadAllocatedBytes(threadId);
+    }
+
+    public static AllocationMeter start() {
+        return new AllocationMeter();
+    }
+
+    public AllocationMeter stop() {
+        this.allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedAtStart;
+        return this;
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+}
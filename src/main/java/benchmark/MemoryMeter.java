@@ -0,0 +1,125 @@
+package benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures garbage collection time spent between {@link #start()} and {@link #stop()}
+ * and the heap and buffer pool memory retained afterwards. Collections forced by
+ * {@link System#gc()}, which {@link AvgTimeBenchmark} runs before every iteration, are
+ * left out, as they are caused by the benchmark rather than by the measured code.
+ */
+public class MemoryMeter {
+
+    private static final String FORCED_GC_CAUSE = "System.gc()";
+    private static final long NOTIFICATION_TIMEOUT_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final long NOTIFICATION_POLL_NANOS = Duration.ofMillis(1).toNanos();
+    private static final Set<String> OFF_HEAP_POOLS = Set.of("direct", "mapped");
+
+    private final long gcCountAtStart;
+    private final AtomicLong notifiedCount;
+    private final AtomicLong unforcedCount;
+    private final AtomicLong unforcedMillis;
+    private final NotificationListener listener;
+
+    private Duration gcTime;
+    private long gcCount;
+    private long heapUsed;
+    private long offHeapUsed;
+
+    private MemoryMeter() {
+        this.notifiedCount = new AtomicLong();
+        this.unforcedCount = new AtomicLong();
+        this.unforcedMillis = new AtomicLong();
+        this.listener = this::onNotification;
+        for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+        }
+        this.gcCountAtStart = totalGcCount();
+    }
+
+    public static MemoryMeter start() {
+        return new MemoryMeter();
+    }
+
+    /**
+     * Stops measuring GC time, then collects garbage to read the live heap size and the
+     * memory held by direct and mapped byte buffers.
+     * Notifications are delivered asynchronously, so it first waits until every collection
+     * counted since the start was notified.
+     */
+    public MemoryMeter stop() {
+        long collections = totalGcCount() - gcCountAtStart;
+        long deadline = System.nanoTime() + NOTIFICATION_TIMEOUT_NANOS;
+        while (notifiedCount.get() < collections && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(NOTIFICATION_POLL_NANOS);
+        }
+        for (var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) gc).removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        this.gcTime = Duration.ofMillis(unforcedMillis.get());
+        this.gcCount = unforcedCount.get();
+        System.gc();
+        this.heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        this.offHeapUsed = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+            .filter(pool -> OFF_HEAP_POOLS.contains(pool.getName()))
+            .mapToLong(BufferPoolMXBean::getMemoryUsed)
+            .filter(used -> used > 0)
+            .sum();
+        return this;
+    }
+
+    public Duration gcTime() {
+        return gcTime;
+    }
+
+    public long gcCount() {
+        return gcCount;
+    }
+
+    public long heapUsed() {
+        return heapUsed;
+    }
+
+    /**
+     * Memory used by the direct and mapped buffer pools, which {@link #heapUsed()} does not include.
+     */
+    public long offHeapUsed() {
+        return offHeapUsed;
+    }
+
+    private void onNotification(Notification notification, Object handback) {
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            return;
+        }
+        var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        notifiedCount.incrementAndGet();
+        if (!FORCED_GC_CAUSE.equals(info.getGcCause())) {
+            unforcedCount.incrementAndGet();
+            unforcedMillis.addAndGet(info.getGcInfo().getDuration());
+        }
+    }
+
+    private static long totalGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+            .filter(count -> count > 0)
+            .sum();
+    }
+}
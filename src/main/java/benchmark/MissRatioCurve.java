@@ -0,0 +1,262 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * LRU miss ratio of every capacity up to a maximum, computed in one pass over a trace.
+ * <p>
+ * The stack distance of a request is the number of distinct keys requested since the previous
+ * request of the same key, itself included; an LRU cache hits exactly when it holds at least
+ * that many entries. Every tracked key marks the time of its last request in a Fenwick tree,
+ * so the distance is a prefix sum, O(log n) per request. Times are renumbered once the tree is
+ * full, which keeps it at most twice the number of tracked keys.
+ * <p>
+ * With sampling, SHARDS, only keys whose hash falls below a threshold are tracked and their
+ * distances are scaled up by the sampling rate. With a sample limit the threshold is lowered
+ * whenever more keys are tracked, dropping the keys with the highest hashes, so memory stays
+ * bounded for any trace. Distances above the maximum capacity are only counted as misses.
+ */
+public class MissRatioCurve {
+
+    private static final int HASH_BITS = 24;
+    private static final long HASH_RANGE = 1L << HASH_BITS;
+    private static final int MIN_TREE_SIZE = 1024;
+
+    private final int maxCapacity;
+    private final int maxSamples;
+    private final double[] histogram;
+    private final Map<Long, Integer> lastAccess;
+    private final PriorityQueue<Long> byHashDescending;
+
+    private long threshold;
+    private FenwickTree tree;
+    private int time;
+    private double sampledWeight;
+    private long requests;
+    private long sampledRequests;
+
+    private MissRatioCurve(int maxCapacity, double samplingRate, int maxSamples) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("Maximum capacity must be positive");
+        }
+        if (samplingRate <= 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("Sampling rate must be in (0, 1]: " + samplingRate);
+        }
+        this.maxCapacity = maxCapacity;
+        this.maxSamples = maxSamples;
+        this.histogram = new double[maxCapacity + 1];
+        this.lastAccess = new HashMap<>();
+        this.byHashDescending = maxSamples == Integer.MAX_VALUE ? null
+            : new PriorityQueue<>((a, b) -> Long.compare(hash(b), hash(a)));
+        this.threshold = Math.max(1, Math.round(samplingRate * HASH_RANGE));
+        this.tree = new FenwickTree(MIN_TREE_SIZE);
+    }
+
+    public void record(long key) {
+        requests++;
+        if (hash(key) >= threshold) {
+            return;
+        }
+        if (time == tree.size()) {
+            renumber();
+        }
+        double rate = samplingRate();
+        sampledRequests++;
+        sampledWeight += 1 / rate;
+        var previous = lastAccess.get(key);
+        if (previous != null) {
+            int sampledDistance = tree.sum(time) - tree.sum(previous + 1) + 1;
+            long distance = (long) Math.ceil(sampledDistance / rate);
+            if (distance <= maxCapacity) {
+                histogram[(int) distance] += 1 / rate;
+            }
+            tree.add(previous, -1);
+        }
+        lastAccess.put(key, time);
+        tree.add(time++, 1);
+        if (previous == null && byHashDescending != null) {
+            byHashDescending.add(key);
+            if (byHashDescending.size() > maxSamples) {
+                lowerThreshold();
+            }
+        }
+    }
+
+    /**
+     * Records every key of the trace.
+     */
+    public void recordAll(Trace trace) {
+        try (var reader = trace.open()) {
+            while (reader.hasNext()) {
+                record(reader.next());
+            }
+        }
+    }
+
+    public double missRatio(int capacity) {
+        if (requests == 0) {
+            return 0.0;
+        }
+        double hits = samplingAdjustment();
+        for (int distance = 1; distance <= Math.min(capacity, maxCapacity); distance++) {
+            hits += histogram[distance];
+        }
+        return 1.0 - hits / requests;
+    }
+
+    /**
+     * @return miss ratio of every multiple of the step up to the maximum capacity
+     */
+    public NavigableMap<Integer, Double> missRatios(int step) {
+        NavigableMap<Integer, Double> curve = new TreeMap<>();
+        double hits = samplingAdjustment();
+        for (int capacity = 1; capacity <= maxCapacity; capacity++) {
+            hits += histogram[capacity];
+            if (capacity % step == 0 || capacity == maxCapacity) {
+                curve.put(capacity, requests == 0 ? 0.0 : 1.0 - hits / requests);
+            }
+        }
+        return curve;
+    }
+
+    public long requests() {
+        return requests;
+    }
+
+    /**
+     * @return requests which were sampled and tracked
+     */
+    public long sampledRequests() {
+        return sampledRequests;
+    }
+
+    public int trackedKeys() {
+        return lastAccess.size();
+    }
+
+    public double samplingRate() {
+        return (double) threshold / HASH_RANGE;
+    }
+
+    /**
+     * A few hot keys make up much of a trace, so whether they were sampled or not skews the
+     * weighted request count away from the real one. As in SHARDS-adj, the difference is
+     * accounted to the smallest distance, where hot keys land.
+     */
+    private double samplingAdjustment() {
+        return requests - sampledWeight;
+    }
+
+    /**
+     * Drops the keys with the highest hashes until the sample limit is met. Requests are
+     * weighted by the inverse of the rate they were sampled at, so counts gathered at the
+     * old rate do not need rescaling.
+     */
+    private void lowerThreshold() {
+        threshold = hash(byHashDescending.peek());
+        while (!byHashDescending.isEmpty() && hash(byHashDescending.peek()) >= threshold) {
+            var slot = lastAccess.remove(byHashDescending.poll());
+            tree.add(slot, -1);
+        }
+    }
+
+    /**
+     * Assigns the tracked keys consecutive times in their current order.
+     */
+    private void renumber() {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(lastAccess.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        tree = new FenwickTree(Math.max(MIN_TREE_SIZE, 2 * entries.size()));
+        time = 0;
+        for (var entry : entries) {
+            entry.setValue(time);
+            tree.add(time++, 1);
+        }
+    }
+
+    /**
+     * @return uniformly distributed hash in {@code [0, 2^24)}
+     */
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key >>> (Long.SIZE - HASH_BITS);
+    }
+
+    /**
+     * Counts per position with prefix sums and updates in O(log n).
+     */
+    private static final class FenwickTree {
+        private final int[] tree;
+
+        private FenwickTree(int size) {
+            this.tree = new int[size + 1];
+        }
+
+        private int size() {
+            return tree.length - 1;
+        }
+
+        private void add(int position, int delta) {
+            for (int i = position + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * @return sum of the positions below the given one
+         */
+        private int sum(int position) {
+            int sum = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+
+    public static class Builder {
+        private int maxCapacity;
+        private double samplingRate;
+        private int maxSamples;
+
+        public Builder() {
+            this.samplingRate = 1.0;
+            this.maxSamples = Integer.MAX_VALUE;
+        }
+
+        public Builder maxCapacity(int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            return this;
+        }
+
+        /**
+         * Fraction of the key space to track, 1 computes the exact curve.
+         */
+        public Builder samplingRate(double samplingRate) {
+            this.samplingRate = samplingRate;
+            return this;
+        }
+
+        /**
+         * Most keys to track at once, lowering the sampling rate when more show up.
+         */
+        public Builder maxSamples(int maxSamples) {
+            this.maxSamples = maxSamples;
+            return this;
+        }
+
+        public MissRatioCurve build() {
+            return new MissRatioCurve(maxCapacity, samplingRate, maxSamples);
+        }
+    }
+}
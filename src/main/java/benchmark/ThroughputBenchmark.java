@@ -0,0 +1,322 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ThroughputBenchmark implements Benchmark {
+
+    private static final int BLOCKED_COUNT = 0;
+    private static final int BLOCKED_TIME = 1;
+    private static final int WAITED_COUNT = 2;
+    private static final int WAITED_TIME = 3;
+    private static final int CONTENTION_COUNTERS = 4;
+
+    private final int threads;
+    private final int warmUpOperations;
+    private final int testOperations;
+    private final Operation operation;
+    private final Runnable afterWarmupCallback;
+    private final int latencySampleInterval;
+    private final boolean measureContention;
+
+    private long totalOperations;
+    private long[][] latencies;
+    private long[][] contention;
+
+    private ThroughputBenchmark(int threads,
+        int warmUpOperations,
+        int testOperations,
+        Operation operation,
+        Runnable afterWarmupCallback,
+        int latencySampleInterval,
+        boolean measureContention) {
+        Objects.requireNonNull(operation);
+        this.threads = threads;
+        this.warmUpOperations = warmUpOperations;
+        this.testOperations = testOperations;
+        this.operation = operation;
+        this.afterWarmupCallback = afterWarmupCallback;
+        this.latencySampleInterval = latencySampleInterval;
+        this.measureContention = measureContention;
+    }
+
+    /**
+     * Runs the operation on all threads at once. Every thread does its warm up operations,
+     * then, after the warm up callback, all of them are released together and measured
+     * until the last one finishes. Latencies of sampled measured operations are kept per
+     * thread, and so are the times each thread spent blocked on monitors and waiting,
+     * which includes parking on locks, while measured. Contention monitoring is turned on
+     * only for the run. Once every thread has finished, the first failure of any operation
+     * is rethrown.
+     *
+     * @return wall clock time of the measured phase
+     */
+    @Override
+    public Duration run() {
+        var ready = new CountDownLatch(threads);
+        var start = new CountDownLatch(1);
+        var done = new CountDownLatch(threads);
+        var failure = new AtomicReference<Throwable>();
+        List<Thread> workers = new ArrayList<>();
+        var threadMXBean = ManagementFactory.getThreadMXBean();
+        boolean enableContentionMonitoring = measureContention
+            && threadMXBean.isThreadContentionMonitoringSupported()
+            && !threadMXBean.isThreadContentionMonitoringEnabled();
+        if (enableContentionMonitoring) {
+            threadMXBean.setThreadContentionMonitoringEnabled(true);
+        }
+        latencies = new long[threads][latencySampleInterval == 0 ? 0 : ceilDiv(testOperations, latencySampleInterval)];
+        contention = new long[threads][CONTENTION_COUNTERS];
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers.add(new Thread(() -> {
+                boolean warmedUp = false;
+                try {
+                    for (int i = 0; i < warmUpOperations; i++) {
+                        operation.run(thread, i);
+                    }
+                    warmedUp = true;
+                    ready.countDown();
+                    awaitUninterruptibly(start);
+                    measure(thread, threadMXBean);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (!warmedUp) {
+                        ready.countDown();
+                    }
+                    done.countDown();
+                }
+            }));
+        }
+
+        long begin;
+        long time;
+        try {
+            workers.forEach(Thread::start);
+            awaitUninterruptibly(ready);
+            try {
+                afterWarmupCallback.run();
+            } finally {
+                begin = System.nanoTime();
+                start.countDown();
+            }
+            awaitUninterruptibly(done);
+            time = System.nanoTime() - begin;
+        } finally {
+            if (enableContentionMonitoring) {
+                threadMXBean.setThreadContentionMonitoringEnabled(false);
+            }
+        }
+        rethrow(failure.get());
+
+        for (var samples : latencies) {
+            Arrays.sort(samples);
+        }
+        totalOperations = (long) threads * testOperations;
+        return Duration.ofNanos(time);
+    }
+
+    public long totalOperations() {
+        return totalOperations;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency percentile of the sampled operations of one thread
+     */
+    public Duration latencyPercentile(int thread, double percentile) {
+        return Duration.ofNanos(percentile(latencies[thread], percentile));
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return latency percentile of the sampled operations of all threads together
+     */
+    public Duration latencyPercentile(double percentile) {
+        return Duration.ofNanos(percentile(Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray(), percentile));
+    }
+
+    /**
+     * @return times the measured threads blocked entering a monitor
+     */
+    public long blockedCount() {
+        return sumContention(BLOCKED_COUNT);
+    }
+
+    /**
+     * Zero when the JVM does not support contention monitoring.
+     */
+    public Duration blockedTime() {
+        return Duration.ofMillis(sumContention(BLOCKED_TIME));
+    }
+
+    /**
+     * @return times the measured threads waited or parked, as on a contended lock
+     */
+    public long waitedCount() {
+        return sumContention(WAITED_COUNT);
+    }
+
+    /**
+     * Zero when the JVM does not support contention monitoring.
+     */
+    public Duration waitedTime() {
+        return Duration.ofMillis(sumContention(WAITED_TIME));
+    }
+
+    public static double opsPerSecond(long operations, Duration time) {
+        return operations / (time.toNanos() / 1e9);
+    }
+
+    /**
+     * Runs the measured operations of one thread, sampling latencies and contention.
+     */
+    private void measure(int thread, ThreadMXBean threadMXBean) {
+        var before = measureContention ? threadInfo(threadMXBean) : null;
+        if (latencySampleInterval == 0) {
+            for (int i = 0; i < testOperations; i++) {
+                operation.run(thread, i);
+            }
+        } else {
+            var samples = latencies[thread];
+            for (int i = 0; i < testOperations; i++) {
+                if (i % latencySampleInterval == 0) {
+                    long begin = System.nanoTime();
+                    operation.run(thread, i);
+                    samples[i / latencySampleInterval] = System.nanoTime() - begin;
+                } else {
+                    operation.run(thread, i);
+                }
+            }
+        }
+        if (measureContention) {
+            var after = threadInfo(threadMXBean);
+            contention[thread][BLOCKED_COUNT] = after.getBlockedCount() - before.getBlockedCount();
+            contention[thread][BLOCKED_TIME] = after.getBlockedTime() - before.getBlockedTime();
+            contention[thread][WAITED_COUNT] = after.getWaitedCount() - before.getWaitedCount();
+            contention[thread][WAITED_TIME] = after.getWaitedTime() - before.getWaitedTime();
+        }
+    }
+
+    /**
+     * Fails the run with the first failure of any worker thread.
+     */
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private long sumContention(int counter) {
+        return Arrays.stream(contention).mapToLong(counters -> Math.max(0, counters[counter])).sum();
+    }
+
+    private static ThreadInfo threadInfo(ThreadMXBean threadMXBean) {
+        return threadMXBean.getThreadInfo(Thread.currentThread().getId());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void run(int thread, int iteration);
+    }
+
+    public static class Builder {
+        private int threads;
+        private int warmUpOperations;
+        private int testOperations;
+        private Operation operation;
+        private Runnable afterWarmupCallback;
+        private int latencySampleInterval;
+        private boolean measureContention;
+
+        public Builder() {
+            this.threads = 1;
+            this.afterWarmupCallback = () -> { };
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder warmUpOperations(int warmUpOperations) {
+            this.warmUpOperations = warmUpOperations;
+            return this;
+        }
+
+        public Builder testOperations(int testOperations) {
+            this.testOperations = testOperations;
+            return this;
+        }
+
+        public Builder operation(Operation operation) {
+            this.operation = operation;
+            return this;
+        }
+
+        public Builder afterWarmupCallback(Runnable afterWarmupCallback) {
+            this.afterWarmupCallback = afterWarmupCallback;
+            return this;
+        }
+
+        /**
+         * Times every n-th measured operation of each thread, zero, the default, times none.
+         */
+        public Builder latencySampleInterval(int latencySampleInterval) {
+            this.latencySampleInterval = latencySampleInterval;
+            return this;
+        }
+
+        public Builder measureContention(boolean measureContention) {
+            this.measureContention = measureContention;
+            return this;
+        }
+
+        public ThroughputBenchmark build() {
+            return new ThroughputBenchmark(threads,
+                warmUpOperations,
+                testOperations,
+                operation,
+                afterWarmupCallback,
+                latencySampleInterval,
+                measureContention);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Sequence of requested keys stored in a file, streamed from disk on every {@link #open()},
+ * so traces larger than the heap can be replayed and several readers can replay one file
+ * at the same time.
+ * <p>
+ * A text trace holds one request per line. Its first whitespace-separated field is the key:
+ * decimal numbers of up to 18 digits are used as they are, any other token is hashed to a
+ * long. Blank lines and lines starting with {@code #} are skipped. A binary trace is a plain
+ * sequence of big-endian longs.
+ */
+public final class Trace {
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private final Path file;
+    private final boolean binary;
+
+    private Trace(Path file, boolean binary) {
+        this.file = file;
+        this.binary = binary;
+    }
+
+    public static Trace text(Path file) {
+        return new Trace(file, false);
+    }
+
+    public static Trace binary(Path file) {
+        return new Trace(file, true);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public Reader open() {
+        try {
+            return binary ? new BinaryReader(FileChannel.open(file, READ)) : new TextReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file.getFileName().toString();
+    }
+
+    /**
+     * Not thread-safe, every thread opens its own reader.
+     */
+    public abstract static class Reader implements Closeable {
+
+        public abstract boolean hasNext();
+
+        public abstract long next();
+
+        @Override
+        public abstract void close();
+    }
+
+    private static final class BinaryReader extends Reader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        private BinaryReader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffer.remaining() >= Long.BYTES) {
+                return true;
+            }
+            try {
+                buffer.compact();
+                while (buffer.position() < Long.BYTES && channel.read(buffer) >= 0) {
+                    // keep reading until a whole key arrived or the file ended
+                }
+                buffer.flip();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.remaining() >= Long.BYTES;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.getLong();
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class TextReader extends Reader {
+        private final BufferedReader reader;
+        private String line;
+
+        private TextReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (line == null) {
+                    var read = reader.readLine();
+                    if (read == null) {
+                        return false;
+                    }
+                    read = read.strip();
+                    if (!read.isEmpty() && read.charAt(0) != '#') {
+                        line = read;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int end = 0;
+            while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+                end++;
+            }
+            var token = line.substring(0, end);
+            line = null;
+            return parseKey(token);
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Parses decimal keys by hand, as exceptions for every non-numeric token would
+         * dominate the replay.
+         */
+        private static long parseKey(String token) {
+            boolean negative = token.charAt(0) == '-';
+            int start = negative ? 1 : 0;
+            if (start < token.length() && token.length() - start <= 18) {
+                long key = 0;
+                int i = start;
+                while (i < token.length() && token.charAt(i) >= '0' && token.charAt(i) <= '9') {
+                    key = key * 10 + (token.charAt(i++) - '0');
+                }
+                if (i == token.length()) {
+                    return negative ? -key : key;
+                }
+            }
+            long hash = 1125899906842597L;
+            for (int i = 0; i < token.length(); i++) {
+                hash = 31 * hash + token.charAt(i);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package benchmark;
+
+import cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Replays a {@link Trace} against every combination of policy and capacity. Each combination
+ * is an independent task with its own cache and its own trace reader, run on a pool of one
+ * thread per core by default. A request is a {@link Cache#getIfPresent}, a miss is followed by
+ * {@link Cache#cache} of the key itself.
+ */
+public class TraceSimulator {
+
+    private final Trace trace;
+    private final Map<String, IntFunction<Cache<Long, Long>>> policies;
+    private final int[] capacities;
+    private final int threads;
+
+    private TraceSimulator(Trace trace,
+        Map<String, IntFunction<Cache<Long, Long>>> policies,
+        int[] capacities,
+        int threads) {
+        Objects.requireNonNull(trace);
+        this.trace = trace;
+        this.policies = policies;
+        this.capacities = capacities;
+        this.threads = threads;
+    }
+
+    /**
+     * @return one result per policy and capacity, in the order they were added
+     */
+    public List<Result> run() {
+        List<Callable<Result>> simulations = new ArrayList<>();
+        policies.forEach((name, factory) -> {
+            for (int capacity : capacities) {
+                simulations.add(() -> simulate(name, capacity, factory.apply(capacity)));
+            }
+        });
+
+        var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, simulations.size())));
+        try {
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : executor.invokeAll(simulations)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Time includes reading the trace, which for a binary trace is a small part of a request.
+     */
+    private Result simulate(String policy, int capacity, Cache<Long, Long> cache) {
+        long requests = 0;
+        long begin = System.nanoTime();
+        try (var reader = trace.open()) {
+            while (reader.hasNext()) {
+                long key = reader.next();
+                if (cache.getIfPresent(key) == null) {
+                    cache.cache(key, key);
+                }
+                requests++;
+            }
+        }
+        long time = System.nanoTime() - begin;
+        var stats = cache.stats();
+        return new Result(policy, capacity, requests, stats.hitCount(), stats.evictionCount(), Duration.ofNanos(time));
+    }
+
+    public static class Result {
+        private final String policy;
+        private final int capacity;
+        private final long requests;
+        private final long hits;
+        private final long evictions;
+        private final Duration time;
+
+        public Result(String policy, int capacity, long requests, long hits, long evictions, Duration time) {
+            this.policy = policy;
+            this.capacity = capacity;
+            this.requests = requests;
+            this.hits = hits;
+            this.evictions = evictions;
+            this.time = time;
+        }
+
+        public String policy() {
+            return policy;
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public long requests() {
+            return requests;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public Duration time() {
+            return time;
+        }
+
+        public double hitRate() {
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+
+        public double nanosPerRequest() {
+            return requests == 0 ? 0.0 : (double) time.toNanos() / requests;
+        }
+    }
+
+    public static class Builder {
+        private Trace trace;
+        private final Map<String, IntFunction<Cache<Long, Long>>> policies;
+        private int[] capacities;
+        private int threads;
+
+        public Builder() {
+            this.policies = new LinkedHashMap<>();
+            this.capacities = new int[0];
+            this.threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        public Builder trace(Trace trace) {
+            this.trace = trace;
+            return this;
+        }
+
+        public Builder policy(String name, IntFunction<Cache<Long, Long>> factory) {
+            this.policies.put(name, factory);
+            return this;
+        }
+
+        public Builder capacities(int... capacities) {
+            this.capacities = capacities.clone();
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public TraceSimulator build() {
+            return new TraceSimulator(trace, new LinkedHashMap<>(policies), capacities.clone(), threads);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * A fraction of the requests goes to a hot set at the start of the key space, the rest to the
+ * cold keys, uniformly within each.
+ */
+public class HotspotGenerator implements KeyGenerator {
+
+    private final int items;
+    private final int hotItems;
+    private final double hotRequestFraction;
+    private final SplittableRandom random;
+
+    /**
+     * @param hotItemFraction    share of the keys which are hot
+     * @param hotRequestFraction share of the requests going to hot keys
+     */
+    public HotspotGenerator(int items, double hotItemFraction, double hotRequestFraction, long seed) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Items must be positive");
+        }
+        this.items = items;
+        this.hotItems = Math.max(1, Math.min(items, (int) (items * hotItemFraction)));
+        this.hotRequestFraction = hotRequestFraction;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextKey() {
+        if (hotItems == items || random.nextDouble() < hotRequestFraction) {
+            return random.nextInt(hotItems);
+        }
+        return hotItems + random.nextInt(items - hotItems);
+    }
+
+    @Override
+    public int items() {
+        return items;
+    }
+}
@@ -0,0 +1,33 @@
+package benchmark.workload;
+
+import java.util.function.Function;
+
+/**
+ * Seeded source of keys in {@code [0, items())}. Generating a key allocates nothing, and the
+ * data provider hands out keys boxed once up front, so neither adds garbage to a measurement.
+ */
+public interface KeyGenerator {
+
+    int nextKey();
+
+    /**
+     * @return number of distinct keys, all of them below it
+     */
+    int items();
+
+    /**
+     * @return data provider for {@code AvgTimeBenchmark.Builder} ignoring the iteration
+     */
+    default Function<Integer, Integer> dataProvider() {
+        var boxed = boxedKeys(items());
+        return iteration -> boxed[nextKey()];
+    }
+
+    static Integer[] boxedKeys(int items) {
+        var boxed = new Integer[items];
+        for (int key = 0; key < items; key++) {
+            boxed[key] = key;
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,35 @@
+package benchmark.workload;
+
+/**
+ * Zipfian popularity by age: the most recently inserted key is the most popular, then the one
+ * before it, and so on. Inserts claim the key after the latest, wrapping around the key space,
+ * so the keys stay within a fixed data set while the popular ones move.
+ */
+public class LatestGenerator implements KeyGenerator {
+
+    private final ZipfianGenerator zipfian;
+    private int latest;
+
+    public LatestGenerator(int items, double exponent, long seed) {
+        this.zipfian = new ZipfianGenerator(items, exponent, seed);
+        this.latest = items - 1;
+    }
+
+    @Override
+    public int nextKey() {
+        return Math.floorMod(latest - zipfian.nextKey(), zipfian.items());
+    }
+
+    @Override
+    public int items() {
+        return zipfian.items();
+    }
+
+    /**
+     * @return key inserted, the latest from now on
+     */
+    public int insert() {
+        latest = latest + 1 == zipfian.items() ? 0 : latest + 1;
+        return latest;
+    }
+}
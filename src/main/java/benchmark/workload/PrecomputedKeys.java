@@ -0,0 +1,36 @@
+package benchmark.workload;
+
+/**
+ * Draws keys from another generator up front and replays them in a loop, so a key costs one
+ * array read inside measured loops where sampling a distribution would show up in the result.
+ * Enough keys should be drawn that the loop does not repeat within a measurement.
+ */
+public class PrecomputedKeys implements KeyGenerator {
+
+    private final int[] keys;
+    private final int items;
+    private int position;
+
+    public PrecomputedKeys(KeyGenerator generator, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        this.keys = new int[count];
+        this.items = generator.items();
+        for (int i = 0; i < count; i++) {
+            keys[i] = generator.nextKey();
+        }
+    }
+
+    @Override
+    public int nextKey() {
+        int key = keys[position];
+        position = position + 1 == keys.length ? 0 : position + 1;
+        return key;
+    }
+
+    @Override
+    public int items() {
+        return items;
+    }
+}
@@ -0,0 +1,39 @@
+package benchmark.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interleaves the requests of another generator with a sequential scan through the whole key
+ * space, each key requested once per pass, like a batch job sharing a cache with live traffic.
+ */
+public class ScanInterleavedGenerator implements KeyGenerator {
+
+    private final KeyGenerator requests;
+    private final double scanFraction;
+    private final SplittableRandom random;
+    private int scanPosition;
+
+    /**
+     * @param scanFraction share of the requests which are part of the scan
+     */
+    public ScanInterleavedGenerator(KeyGenerator requests, double scanFraction, long seed) {
+        this.requests = requests;
+        this.scanFraction = scanFraction;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextKey() {
+        if (random.nextDouble() < scanFraction) {
+            int key = scanPosition;
+            scanPosition = scanPosition + 1 == requests.items() ? 0 : scanPosition + 1;
+            return key;
+        }
+        return requests.nextKey();
+    }
+
+    @Override
+    public int items() {
+        return requests.items();
+    }
+}
@@ -0,0 +1,38 @@
+package benchmark.workload;
+
+/**
+ * Zipfian popularity with the popular keys spread over the key space instead of packed at
+ * its start, so they do not share segments, buckets or pages by accident. As in YCSB, ranks
+ * are hashed onto keys, which may map a few ranks onto the same key.
+ */
+public class ScrambledZipfianGenerator implements KeyGenerator {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ZipfianGenerator zipfian;
+
+    public ScrambledZipfianGenerator(int items, double exponent, long seed) {
+        this.zipfian = new ZipfianGenerator(items, exponent, seed);
+    }
+
+    @Override
+    public int nextKey() {
+        return (int) Long.remainderUnsigned(fnv1a(zipfian.nextRank()), zipfian.items());
+    }
+
+    @Override
+    public int items() {
+        return zipfian.items();
+    }
+
+    private static long fnv1a(long value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= value & 0xff;
+            hash *= FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,30 @@
+package benchmark.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Every key equally likely.
+ */
+public class UniformGenerator implements KeyGenerator {
+
+    private final int items;
+    private final SplittableRandom random;
+
+    public UniformGenerator(int items, long seed) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Items must be positive");
+        }
+        this.items = items;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextKey() {
+        return random.nextInt(items);
+    }
+
+    @Override
+    public int items() {
+        return items;
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark.workload;
+
+/**
+ * Key generators by name, for benchmarks parameterized with strings.
+ */
+public final class Workloads {
+
+    public static final double ZIPFIAN_EXPONENT = 0.99;
+
+    private Workloads() {
+    }
+
+    /**
+     * @param name one of {@code uniform}, {@code zipfian}, {@code scrambled-zipfian},
+     *             {@code hotspot} (20% of the keys get 80% of the requests), {@code latest} or
+     *             {@code scan-zipfian} (a scan interleaved with half of the zipfian requests),
+     *             Zipfian ones optionally followed by their exponent, as in {@code zipfian-1.2}
+     */
+    public static KeyGenerator keys(String name, int items, long seed) {
+        int separator = name.lastIndexOf('-');
+        double exponent = ZIPFIAN_EXPONENT;
+        if (separator >= 0 && Character.isDigit(name.charAt(name.length() - 1)) && name.contains("zipfian-")) {
+            exponent = Double.parseDouble(name.substring(separator + 1));
+            name = name.substring(0, separator);
+        }
+        switch (name) {
+            case "uniform":
+                return new UniformGenerator(items, seed);
+            case "zipfian":
+                return new ZipfianGenerator(items, exponent, seed);
+            case "scrambled-zipfian":
+                return new ScrambledZipfianGenerator(items, exponent, seed);
+            case "hotspot":
+                return new HotspotGenerator(items, 0.2, 0.8, seed);
+            case "latest":
+                return new LatestGenerator(items, exponent, seed);
+            case "scan-zipfian":
+                return new ScanInterleavedGenerator(new ZipfianGenerator(items, exponent, seed), 0.5, ~seed);
+            default:
+                throw new IllegalArgumentException("Unknown workload: " + name);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package benchmark.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Operation mixes of the YCSB core workloads A to F over a fixed key space. Calling
+ * {@link #next()} moves to the next operation and returns this workload itself, which then
+ * describes it, so a benchmark can use it as its data provider without allocating. Inserts
+ * claim keys in order, wrapping around the key space.
+ */
+public class YcsbWorkload {
+
+    public static final int MAX_SCAN_LENGTH = 100;
+
+    public enum Operation {
+        READ,
+        UPDATE,
+        INSERT,
+        SCAN,
+        READ_MODIFY_WRITE
+    }
+
+    /**
+     * Share of each operation, the rest of the requests being reads, and the key distribution.
+     */
+    public enum Mix {
+        /**
+         * Update heavy, like a session store recording recent actions.
+         */
+        A(0.5, 0.0, 0.0, 0.0, false),
+        /**
+         * Read mostly, like photo tagging.
+         */
+        B(0.05, 0.0, 0.0, 0.0, false),
+        /**
+         * Read only, like a user profile cache.
+         */
+        C(0.0, 0.0, 0.0, 0.0, false),
+        /**
+         * Read latest, like status updates read right after being posted.
+         */
+        D(0.0, 0.05, 0.0, 0.0, true),
+        /**
+         * Short ranges, like threaded conversations.
+         */
+        E(0.0, 0.05, 0.95, 0.0, false),
+        /**
+         * Read-modify-write, like a user database updating records it just read.
+         */
+        F(0.0, 0.0, 0.0, 0.5, false);
+
+        private final double update;
+        private final double insert;
+        private final double scan;
+        private final double readModifyWrite;
+        private final boolean latest;
+
+        Mix(double update, double insert, double scan, double readModifyWrite, boolean latest) {
+            this.update = update;
+            this.insert = insert;
+            this.scan = scan;
+            this.readModifyWrite = readModifyWrite;
+            this.latest = latest;
+        }
+    }
+
+    private final Mix mix;
+    private final KeyGenerator keys;
+    private final LatestGenerator latest;
+    private final SplittableRandom random;
+    private final Integer[] boxed;
+
+    private Operation operation;
+    private int key;
+    private int scanLength;
+    private int insertPosition;
+
+    public YcsbWorkload(Mix mix, int items, long seed) {
+        this.mix = mix;
+        this.latest = mix.latest ? new LatestGenerator(items, Workloads.ZIPFIAN_EXPONENT, seed) : null;
+        this.keys = mix.latest ? latest : new ScrambledZipfianGenerator(items, Workloads.ZIPFIAN_EXPONENT, seed);
+        this.random = new SplittableRandom(~seed);
+        this.boxed = KeyGenerator.boxedKeys(items);
+        this.insertPosition = items - 1;
+    }
+
+    public YcsbWorkload next() {
+        double draw = random.nextDouble();
+        scanLength = 1;
+        if ((draw -= mix.update) < 0) {
+            operation = Operation.UPDATE;
+            key = keys.nextKey();
+        } else if ((draw -= mix.insert) < 0) {
+            operation = Operation.INSERT;
+            key = insert();
+        } else if ((draw -= mix.scan) < 0) {
+            operation = Operation.SCAN;
+            key = keys.nextKey();
+            scanLength = 1 + random.nextInt(MAX_SCAN_LENGTH);
+        } else if ((draw -= mix.readModifyWrite) < 0) {
+            operation = Operation.READ_MODIFY_WRITE;
+            key = keys.nextKey();
+        } else {
+            operation = Operation.READ;
+            key = keys.nextKey();
+        }
+        return this;
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    public int key() {
+        return key;
+    }
+
+    /**
+     * @return the key boxed without allocating
+     */
+    public Integer boxedKey() {
+        return boxed[key];
+    }
+
+    /**
+     * @return the i-th key of a scan, following the key wrapping around the key space
+     */
+    public Integer boxedKey(int offset) {
+        return boxed[(key + offset) % boxed.length];
+    }
+
+    /**
+     * @return number of consecutive keys a scan reads, 1 for other operations
+     */
+    public int scanLength() {
+        return scanLength;
+    }
+
+    public Mix mix() {
+        return mix;
+    }
+
+    private int insert() {
+        if (latest != null) {
+            return latest.insert();
+        }
+        insertPosition = insertPosition + 1 == boxed.length ? 0 : insertPosition + 1;
+        return insertPosition;
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Key {@code k} is requested with probability proportional to {@code 1 / (k + 1)^exponent},
+ * so key 0 is the most popular. YCSB uses an exponent of 0.99.
+ * <p>
+ * Sampled by rejection-inversion (Hoermann and Derflinger), which needs no table and no
+ * precomputed zeta, takes a couple of logarithms per key and accepts over nine in ten
+ * candidates for any exponent.
+ */
+public class ZipfianGenerator implements KeyGenerator {
+
+    private final int items;
+    private final double exponent;
+    private final SplittableRandom random;
+    private final double hIntegralX1;
+    private final double hIntegralItems;
+    private final double s;
+
+    public ZipfianGenerator(int items, double exponent, long seed) {
+        if (items < 1) {
+            throw new IllegalArgumentException("Items must be positive");
+        }
+        if (exponent <= 0.0) {
+            throw new IllegalArgumentException("Exponent must be positive: " + exponent);
+        }
+        this.items = items;
+        this.exponent = exponent;
+        this.random = new SplittableRandom(seed);
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralItems = hIntegral(items + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+    }
+
+    @Override
+    public int nextKey() {
+        return nextRank() - 1;
+    }
+
+    @Override
+    public int items() {
+        return items;
+    }
+
+    /**
+     * @return rank from 1, the most popular, to items
+     */
+    int nextRank() {
+        while (true) {
+            double u = hIntegralItems + random.nextDouble() * (hIntegralX1 - hIntegralItems);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > items) {
+                k = items;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1.0 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1.0 - exponent);
+        if (t < -1.0) {
+            t = -1.0;
+        }
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+    }
+}
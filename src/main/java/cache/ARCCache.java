@@ -0,0 +1,194 @@
+package cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Adaptive replacement cache. Resident entries are split into a recency list T1 of entries seen
+ * once and a frequency list T2 of entries seen at least twice. Keys evicted from either list are
+ * remembered without their values in the ghost lists B1 and B2. A miss on a ghost shows which
+ * list was evicted too early and moves the target size of T1 towards it, so the recency/frequency
+ * split follows the workload: scans only cycle through T1 while T2 keeps the hot set.
+ */
+public class ARCCache<K, V> extends AbstractCache<K, V> {
+
+    private static final int T1 = 0;
+    private static final int T2 = 1;
+    private static final int B1 = 2;
+    private static final int B2 = 3;
+
+    private final Map<K, Node<K, V>> cache;
+    private final LinkedDeque<Node<K, V>> t1;
+    private final LinkedDeque<Node<K, V>> t2;
+    private final LinkedDeque<Node<K, V>> b1;
+    private final LinkedDeque<Node<K, V>> b2;
+    private final int capacity;
+
+    private int target;
+
+    public ARCCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.cache = new HashMap<>();
+        this.t1 = new LinkedDeque<>();
+        this.t2 = new LinkedDeque<>();
+        this.b1 = new LinkedDeque<>();
+        this.b2 = new LinkedDeque<>();
+        this.target = 0;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var node = cache.get(key);
+        if (node == null || node.list >= B1) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        promote(node);
+        return node.value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        var node = cache.get(key);
+        if (node == null) {
+            insert(key, value);
+        } else if (node.list < B1) {
+            var old = node.value;
+            node.value = value;
+            promote(node);
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        } else {
+            revive(node, value);
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var node = cache.get(key);
+        if (node != null && node.list < B1) {
+            cache.remove(key);
+            (node.list == T1 ? t1 : t2).remove(node);
+            notifyRemoval(key, node.value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits the recency list, then the frequency list, skipping the ghosts.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var node = t1.peekFirst(); node != null; node = node.next) {
+            visitor.visit(node.key, node.value, 0);
+        }
+        for (var node = t2.peekFirst(); node != null; node = node.next) {
+            visitor.visit(node.key, node.value, 1);
+        }
+    }
+
+    /**
+     * @return current target size of the recency list
+     */
+    public int target() {
+        return target;
+    }
+
+    private void promote(Node<K, V> node) {
+        if (node.list == T1) {
+            t1.remove(node);
+            node.list = T2;
+            t2.addLast(node);
+        } else {
+            t2.moveToLast(node);
+        }
+    }
+
+    /**
+     * A ghost hit: grows the list whose ghost was hit, by more when the other ghost list is larger,
+     * and brings the entry back as frequent.
+     */
+    private void revive(Node<K, V> node, V value) {
+        boolean recent = node.list == B1;
+        if (recent) {
+            target = Math.min(capacity, target + Math.max(b2.size() / b1.size(), 1));
+            b1.remove(node);
+        } else {
+            target = Math.max(0, target - Math.max(b1.size() / b2.size(), 1));
+            b2.remove(node);
+        }
+        if (t1.size() + t2.size() >= capacity) {
+            replace(!recent);
+        }
+        node.value = value;
+        node.list = T2;
+        t2.addLast(node);
+    }
+
+    private void insert(K key, V value) {
+        if (t1.size() + b1.size() >= capacity) {
+            if (t1.size() < capacity) {
+                forget(b1);
+                if (t1.size() + t2.size() >= capacity) {
+                    replace(false);
+                }
+            } else {
+                var victim = t1.pollFirst();
+                cache.remove(victim.key);
+                notifyRemoval(victim.key, victim.value, RemovalCause.SIZE);
+            }
+        } else if (t1.size() + t2.size() + b1.size() + b2.size() >= capacity) {
+            if (t1.size() + t2.size() + b1.size() + b2.size() >= 2 * capacity) {
+                forget(b2);
+            }
+            if (t1.size() + t2.size() >= capacity) {
+                replace(false);
+            }
+        }
+        var node = new Node<>(key, value);
+        cache.put(key, node);
+        t1.addLast(node);
+    }
+
+    /**
+     * Evicts the least recently used entry of T1 when it is over its target, otherwise of T2,
+     * keeping the evicted key as a ghost.
+     */
+    private void replace(boolean ghostOfFrequent) {
+        boolean fromRecent = !t1.isEmpty() && (t1.size() > target || (ghostOfFrequent && t1.size() == target));
+        if (fromRecent || t2.isEmpty()) {
+            demote(t1.pollFirst(), B1, b1);
+        } else {
+            demote(t2.pollFirst(), B2, b2);
+        }
+    }
+
+    private void demote(Node<K, V> victim, int list, LinkedDeque<Node<K, V>> ghosts) {
+        var value = victim.value;
+        victim.value = null;
+        victim.list = list;
+        ghosts.addLast(victim);
+        notifyRemoval(victim.key, value, RemovalCause.SIZE);
+    }
+
+    private void forget(LinkedDeque<Node<K, V>> ghosts) {
+        var ghost = ghosts.pollFirst();
+        if (ghost != null) {
+            cache.remove(ghost.key);
+        }
+    }
+
+    private static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private V value;
+        private int list;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.list = T1;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package cache;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Base of the eviction policies, holding the removal listener they notify
+ * and the recorder of their statistics.
+ */
+public abstract class AbstractCache<K, V> implements Cache<K, V> {
+
+    private static final RemovalListener<Object, Object> NO_LISTENER = (key, value, cause) -> { };
+
+    private RemovalListener<? super K, ? super V> removalListener;
+    private StatsCounter statsCounter;
+    private CacheStats baseline;
+
+    protected AbstractCache() {
+        this.removalListener = NO_LISTENER;
+        this.statsCounter = new ConcurrentStatsCounter();
+        this.baseline = CacheStats.empty();
+    }
+
+    @Override
+    public void setRemovalListener(RemovalListener<? super K, ? super V> removalListener) {
+        this.removalListener = Objects.requireNonNull(removalListener);
+    }
+
+    @Override
+    public void setStatsCounter(StatsCounter statsCounter) {
+        this.statsCounter = Objects.requireNonNull(statsCounter);
+        this.baseline = CacheStats.empty();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot().minus(baseline);
+    }
+
+    @Override
+    public void clearStats() {
+        baseline = statsCounter.snapshot();
+    }
+
+    /**
+     * Times the loader, recording the load as a success or a failure.
+     */
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        statsCounter.recordLoadSuccess(System.nanoTime() - start);
+        cache(key, value);
+        return value;
+    }
+
+    protected StatsCounter statsCounter() {
+        return statsCounter;
+    }
+
+    protected void recordHit() {
+        statsCounter.recordHits(1);
+    }
+
+    protected void recordMiss() {
+        statsCounter.recordMisses(1);
+    }
+
+    protected boolean hasRemovalListener() {
+        return removalListener != NO_LISTENER;
+    }
+
+    /**
+     * Records the removal and notifies the listener about it.
+     */
+    protected void notifyRemoval(K key, V value, RemovalCause cause) {
+        statsCounter.recordRemoval(cause);
+        removalListener.onRemoval(key, value, cause);
+    }
+}
@@ -0,0 +1,46 @@
+package cache;
+
+import java.util.Objects;
+
+/**
+ * Base of the int-keyed policies, holding the recorder of their statistics
+ * the way {@link AbstractCache} does for the generic ones.
+ */
+public abstract class AbstractIntCache<V> implements IntCache<V> {
+
+    private StatsCounter statsCounter;
+    private CacheStats baseline;
+
+    protected AbstractIntCache() {
+        this.statsCounter = new ConcurrentStatsCounter();
+        this.baseline = CacheStats.empty();
+    }
+
+    @Override
+    public void setStatsCounter(StatsCounter statsCounter) {
+        this.statsCounter = Objects.requireNonNull(statsCounter);
+        this.baseline = CacheStats.empty();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot().minus(baseline);
+    }
+
+    @Override
+    public void clearStats() {
+        baseline = statsCounter.snapshot();
+    }
+
+    protected void recordHit() {
+        statsCounter.recordHits(1);
+    }
+
+    protected void recordMiss() {
+        statsCounter.recordMisses(1);
+    }
+
+    protected void recordRemoval(RemovalCause cause) {
+        statsCounter.recordRemoval(cause);
+    }
+}
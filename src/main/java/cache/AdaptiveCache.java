@@ -0,0 +1,324 @@
+package cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntFunction;
+
+/**
+ * Resizes any eviction policy to the capacity that pays off. Keys the policy evicted are
+ * remembered without their values as ghost entries, as many as the capacity. A miss on a ghost
+ * would have been a hit with a larger cache, so after every adaptation period the share of
+ * ghost hits, spread over the steps the ghosts cover, is the marginal hit ratio gain of one
+ * more step. Averaging over all ghosts rather than the last step's worth also sees the gain
+ * of loops slightly longer than the cache, which LRU only hits once they fit entirely. The
+ * cache grows by a step when that gain reaches the grow threshold and shrinks by a step when
+ * it falls below the shrink threshold. Capacity stays within the configured bounds, and while
+ * the heap is fuller than the headroom allows the cache does not grow but shrinks every period.
+ * <p>
+ * Ghosts cannot tell what the last step of the cache itself is worth, so a shrink is a probe:
+ * when the hit ratio of the following period drops by at least the grow threshold the step is
+ * given back and the cache does not shrink below that capacity for {@value #HOLD_PERIODS}
+ * periods. Without it a loop that just fits would be shrunk as soon as it stops evicting.
+ * <p>
+ * Resizing builds a policy of the new capacity and caches the entries into it in the order of
+ * {@link Cache#forEachEntry}, the way {@link CacheSnapshot} restores a cache, so shrinking
+ * evicts the entries the policy would evict first. Statistics are recorded by this cache only.
+ * Not thread-safe, wrap in a {@link SynchronizedCache} to share between threads.
+ */
+public class AdaptiveCache<K, V> extends AbstractCache<K, V> {
+
+    static final int HOLD_PERIODS = 64;
+
+    private final IntFunction<? extends Cache<K, V>> policy;
+    private final int minCapacity;
+    private final int maxCapacity;
+    private final double stepFraction;
+    private final int adaptationPeriod;
+    private final double growThreshold;
+    private final double shrinkThreshold;
+    private final double heapHeadroom;
+    private final DoubleSupplier heapUsage;
+
+    private Cache<K, V> cache;
+    private GhostKeys<K> ghosts;
+    private int capacity;
+    private int periodRequests;
+    private int periodHits;
+    private int periodGhostHits;
+    private int probedCapacity;
+    private double probedHitRatio;
+    private int shrinkFloor;
+    private int holdPeriods;
+    private long resizeCount;
+
+    private AdaptiveCache(IntFunction<? extends Cache<K, V>> policy,
+        int initialCapacity,
+        int minCapacity,
+        int maxCapacity,
+        double stepFraction,
+        int adaptationPeriod,
+        double growThreshold,
+        double shrinkThreshold,
+        double heapHeadroom,
+        DoubleSupplier heapUsage) {
+        Objects.requireNonNull(policy);
+        if (minCapacity < 1 || minCapacity > maxCapacity) {
+            throw new IllegalArgumentException("Invalid capacity bounds: " + minCapacity + ".." + maxCapacity);
+        }
+        if (shrinkThreshold > growThreshold) {
+            throw new IllegalArgumentException("Shrink threshold exceeds grow threshold");
+        }
+        this.policy = policy;
+        this.minCapacity = minCapacity;
+        this.maxCapacity = maxCapacity;
+        this.stepFraction = stepFraction;
+        this.adaptationPeriod = adaptationPeriod;
+        this.growThreshold = growThreshold;
+        this.shrinkThreshold = shrinkThreshold;
+        this.heapHeadroom = heapHeadroom;
+        this.heapUsage = heapUsage;
+        this.capacity = Math.max(minCapacity, Math.min(maxCapacity, initialCapacity));
+        this.cache = newCache(capacity);
+        this.ghosts = new GhostKeys<>(capacity);
+        this.shrinkFloor = minCapacity;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            recordHit();
+            periodHits++;
+        } else {
+            recordMiss();
+            if (ghosts.remove(key) != null) {
+                periodGhostHits++;
+            }
+        }
+        if (++periodRequests == adaptationPeriod) {
+            adapt();
+        }
+        return value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        ghosts.remove(key);
+        cache.cache(key, value);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        ghosts.remove(key);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        cache.forEachEntry(visitor);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    private void adapt() {
+        double hitRatio = (double) periodHits / periodRequests;
+        double marginalGain = (double) periodGhostHits / periodRequests * step() / capacity;
+        periodRequests = 0;
+        periodHits = 0;
+        periodGhostHits = 0;
+        boolean heapFull = heapUsage.getAsDouble() > 1.0 - heapHeadroom;
+        if (probedCapacity != 0) {
+            int probed = probedCapacity;
+            probedCapacity = 0;
+            if (!heapFull && probedHitRatio - hitRatio >= growThreshold) {
+                shrinkFloor = probed;
+                holdPeriods = HOLD_PERIODS;
+                resize(probed);
+                return;
+            }
+        }
+        if (holdPeriods > 0 && --holdPeriods == 0) {
+            shrinkFloor = minCapacity;
+        }
+
+        if (heapFull) {
+            if (capacity > minCapacity) {
+                resize(Math.max(minCapacity, capacity - step()));
+            }
+        } else if (marginalGain >= growThreshold && capacity < maxCapacity) {
+            resize(Math.min(maxCapacity, capacity + step()));
+        } else if (marginalGain < shrinkThreshold && capacity > shrinkFloor) {
+            probedCapacity = capacity;
+            probedHitRatio = hitRatio;
+            resize(Math.max(shrinkFloor, capacity - step()));
+        }
+    }
+
+    private void resize(int newCapacity) {
+        var resized = newCache(newCapacity);
+        capacity = newCapacity;
+        ghosts = ghosts.resize(newCapacity);
+        cache.forEachEntry((key, value, hits) -> CacheSnapshot.replay(resized, key, value, hits));
+        cache = resized;
+        resizeCount++;
+    }
+
+    private Cache<K, V> newCache(int capacity) {
+        var created = policy.apply(capacity);
+        created.setStatsCounter(StatsCounter.disabled());
+        created.setRemovalListener(this::onRemoval);
+        return created;
+    }
+
+    private int step() {
+        return Math.max(1, (int) (capacity * stepFraction));
+    }
+
+    private void onRemoval(K key, V value, RemovalCause cause) {
+        if (cause == RemovalCause.SIZE) {
+            ghosts.put(key, Boolean.TRUE);
+        }
+        notifyRemoval(key, value, cause);
+    }
+
+    private static final class GhostKeys<K> extends LinkedHashMap<K, Boolean> {
+        private final int limit;
+
+        private GhostKeys(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * @return ghost keys limited to the new size, keeping the most recent ones
+         */
+        private GhostKeys<K> resize(int newLimit) {
+            var resized = new GhostKeys<K>(newLimit);
+            resized.putAll(this);
+            return resized;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+            return size() > limit;
+        }
+    }
+
+    public static class Builder<K, V> {
+        private IntFunction<? extends Cache<K, V>> policy;
+        private int initialCapacity;
+        private int minCapacity;
+        private int maxCapacity;
+        private double stepFraction;
+        private int adaptationPeriod;
+        private double growThreshold;
+        private double shrinkThreshold;
+        private double heapHeadroom;
+        private DoubleSupplier heapUsage;
+
+        public Builder() {
+            this.minCapacity = 1;
+            this.maxCapacity = Integer.MAX_VALUE;
+            this.stepFraction = 0.1;
+            this.adaptationPeriod = 10000;
+            this.growThreshold = 0.01;
+            this.shrinkThreshold = 0.002;
+            this.heapUsage = () -> {
+                var runtime = Runtime.getRuntime();
+                return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+            };
+        }
+
+        /**
+         * Creates the underlying cache of a given capacity, for example {@code LRUCache::new}.
+         */
+        public Builder<K, V> policy(IntFunction<? extends Cache<K, V>> policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public Builder<K, V> initialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+            return this;
+        }
+
+        public Builder<K, V> minCapacity(int minCapacity) {
+            this.minCapacity = minCapacity;
+            return this;
+        }
+
+        public Builder<K, V> maxCapacity(int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            return this;
+        }
+
+        /**
+         * Fraction of the current capacity added or removed by one resize.
+         */
+        public Builder<K, V> stepFraction(double stepFraction) {
+            this.stepFraction = stepFraction;
+            return this;
+        }
+
+        /**
+         * Number of requests between two adaptations.
+         */
+        public Builder<K, V> adaptationPeriod(int adaptationPeriod) {
+            this.adaptationPeriod = adaptationPeriod;
+            return this;
+        }
+
+        /**
+         * Marginal hit ratio gain of one step needed to grow.
+         */
+        public Builder<K, V> growThreshold(double growThreshold) {
+            this.growThreshold = growThreshold;
+            return this;
+        }
+
+        /**
+         * Marginal hit ratio gain of one step below which the cache shrinks.
+         */
+        public Builder<K, V> shrinkThreshold(double shrinkThreshold) {
+            this.shrinkThreshold = shrinkThreshold;
+            return this;
+        }
+
+        /**
+         * Fraction of the maximum heap to keep free. While the heap is fuller the cache does not
+         * grow and shrinks every period. Zero, the default, turns the check off.
+         */
+        public Builder<K, V> heapHeadroom(double heapHeadroom) {
+            this.heapHeadroom = heapHeadroom;
+            return this;
+        }
+
+        /**
+         * Source of the used fraction of the maximum heap, the JVM's runtime by default.
+         */
+        public Builder<K, V> heapUsage(DoubleSupplier heapUsage) {
+            this.heapUsage = heapUsage;
+            return this;
+        }
+
+        public AdaptiveCache<K, V> build() {
+            return new AdaptiveCache<>(policy,
+                initialCapacity,
+                minCapacity,
+                maxCapacity,
+                stepFraction,
+                adaptationPeriod,
+                growThreshold,
+                shrinkThreshold,
+                heapHeadroom,
+                heapUsage);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache of futures whose values are loaded on an executor, so callers never block on the
+ * backing store. Values older than {@code refreshAfterWrite} are reloaded in the background
+ * while callers keep getting the old value; values older than {@code expireAfterWrite}
+ * are not served anymore and callers get the future of their reload.
+ * <p>
+ * Entries are kept in any {@link Cache}, which decides eviction. Use a thread-safe one when
+ * the async cache is shared between threads.
+ */
+public class AsyncCache<K, V> {
+
+    private final Cache<K, Entry<V>> cache;
+    private final Function<? super K, ? extends V> loader;
+    private final Executor executor;
+    private final Ticker ticker;
+    private final long refreshAfterWriteNanos;
+    private final long expireAfterWriteNanos;
+
+    private final LongAdder refreshed;
+    private final LongAdder failed;
+
+    private AsyncCache(Cache<K, Entry<V>> cache,
+        Function<? super K, ? extends V> loader,
+        Executor executor,
+        Ticker ticker,
+        Duration refreshAfterWrite,
+        Duration expireAfterWrite) {
+        Objects.requireNonNull(cache);
+        Objects.requireNonNull(loader);
+        if (refreshAfterWrite.compareTo(expireAfterWrite) > 0) {
+            throw new IllegalArgumentException("Refresh must happen before expiration");
+        }
+        this.cache = cache;
+        this.loader = loader;
+        this.executor = executor;
+        this.ticker = ticker;
+        this.refreshAfterWriteNanos = refreshAfterWrite.toNanos();
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.refreshed = new LongAdder();
+        this.failed = new LongAdder();
+    }
+
+    /**
+     * Returns the future of the key's value, starting a load on a miss, a reload when the value
+     * expired or its last load failed, and a background refresh when the value is getting old.
+     * An expired value is never served, callers get the future of the load in flight instead,
+     * even when that load started as a refresh.
+     */
+    public CompletableFuture<V> get(K key) {
+        var entry = cache.get(key, this::newEntry);
+        while (true) {
+            long writeTime = entry.writeTime;
+            long refreshTime = entry.refreshTime;
+            var future = entry.future;
+            if (!future.isDone()) {
+                return future;
+            }
+
+            long now = ticker.read();
+            boolean servable = !future.isCompletedExceptionally() && now - writeTime < expireAfterWriteNanos;
+            if (servable && now - refreshTime < refreshAfterWriteNanos) {
+                return future;
+            }
+            var pending = entry.pending.get();
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+                if (!entry.pending.compareAndSet(null, pending)) {
+                    continue;
+                }
+                load(key, entry, pending, servable);
+            }
+            return servable ? future : pending;
+        }
+    }
+
+    public void put(K key, V value) {
+        var entry = new Entry<V>();
+        entry.future = CompletableFuture.completedFuture(value);
+        entry.writeTime = ticker.read();
+        entry.refreshTime = entry.writeTime;
+        cache.cache(key, entry);
+    }
+
+    public int missCount() {
+        return cache.missCount();
+    }
+
+    public int evictedCount() {
+        return cache.evictedCount();
+    }
+
+    public long refreshCount() {
+        return refreshed.sum();
+    }
+
+    public long loadFailureCount() {
+        return failed.sum();
+    }
+
+    public void clearStats() {
+        cache.clearStats();
+        refreshed.reset();
+        failed.reset();
+    }
+
+    private Entry<V> newEntry(K key) {
+        var entry = new Entry<V>();
+        var future = new CompletableFuture<V>();
+        entry.pending.set(future);
+        load(key, entry, future, false);
+        return entry;
+    }
+
+    /**
+     * Loads the key into the given future, which stays the entry's pending load until it
+     * completes. A reload makes it the entry's future right away, so callers wait for it.
+     * A refresh keeps serving the old value and swaps the future in only once it succeeded,
+     * so the old value stays in place if the load fails. The next refresh is then due only
+     * {@code refreshAfterWrite} after the failure, so a failing store is not retried on
+     * every request.
+     * <p>
+     * The future is written before the write time, and {@link #get} reads them the other
+     * way round, so a new write time is never paired with an old value.
+     */
+    private void load(K key, Entry<V> entry, CompletableFuture<V> future, boolean refresh) {
+        if (!refresh) {
+            entry.future = future;
+        }
+        CompletableFuture.supplyAsync(() -> loader.apply(key), executor).whenComplete((value, e) -> {
+            if (e == null) {
+                future.complete(value);
+                if (refresh) {
+                    entry.future = future;
+                    refreshed.increment();
+                }
+                entry.writeTime = ticker.read();
+                entry.refreshTime = entry.writeTime;
+            } else {
+                failed.increment();
+                future.completeExceptionally(e);
+                if (refresh) {
+                    entry.refreshTime = ticker.read();
+                }
+            }
+            entry.pending.set(null);
+        });
+    }
+
+    /**
+     * Cached holder of a key's current future and of the load in flight, if any. Reloads swap
+     * the future inside the holder, so the entry keeps its place in the underlying cache.
+     */
+    public static final class Entry<V> {
+        private final AtomicReference<CompletableFuture<V>> pending = new AtomicReference<>();
+        private volatile CompletableFuture<V> future;
+        private volatile long writeTime;
+        private volatile long refreshTime;
+
+        private Entry() {
+        }
+    }
+
+    public static class Builder<K, V> {
+        private Cache<K, Entry<V>> cache;
+        private Function<? super K, ? extends V> loader;
+        private Executor executor;
+        private Ticker ticker;
+        private Duration refreshAfterWrite;
+        private Duration expireAfterWrite;
+
+        public Builder() {
+            this.executor = ForkJoinPool.commonPool();
+            this.ticker = Ticker.system();
+            this.refreshAfterWrite = Duration.ofNanos(Long.MAX_VALUE);
+            this.expireAfterWrite = Duration.ofNanos(Long.MAX_VALUE);
+        }
+
+        public Builder<K, V> cache(Cache<K, Entry<V>> cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder<K, V> loader(Function<? super K, ? extends V> loader) {
+            this.loader = loader;
+            return this;
+        }
+
+        public Builder<K, V> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder<K, V> ticker(Ticker ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public Builder<K, V> refreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        public AsyncCache<K, V> build() {
+            return new AsyncCache<>(cache, loader, executor, ticker, refreshAfterWrite, expireAfterWrite);
+        }
+    }
+}
@@ -1,16 +1,132 @@
 package cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 public interface Cache<K, V> {
 
     void cache(K key, V value);
 
-    Optional<V> load(K key);
+    /**
+     * Returns the cached value, or null on a miss. Records a hit or a miss like {@link #load},
+     * but allocates nothing, so prefer it on hot paths.
+     */
+    V getIfPresent(K key);
 
-    int evictedCount();
+    default Optional<V> load(K key) {
+        return Optional.ofNullable(getIfPresent(key));
+    }
 
-    int missCount();
+    /**
+     * Removes the key, if present.
+     */
+    void invalidate(K key);
+
+    /**
+     * Sets the listener notified about every entry removed from the cache, replacing the previous one.
+     */
+    void setRemovalListener(RemovalListener<? super K, ? super V> removalListener);
+
+    /**
+     * Passes every entry to the visitor in eviction order, the entry the policy would evict first
+     * before the others. Caching the entries in this order and loading each as many times as its
+     * hits rebuilds the policy's state, which is how {@link CacheSnapshot} restores a cache.
+     * Does not count as a request in the statistics.
+     */
+    void forEachEntry(EntryVisitor<? super K, ? super V> visitor);
+
+    /**
+     * Returns the cached value or loads it with the loader and caches it on a miss.
+     * Thread-safe implementations share a single in-flight load between concurrent
+     * misses on the same key, and rethrow a failed load to every waiting caller.
+     *
+     * @param key key to look up
+     * @param loader backing store lookup called on a miss
+     * @return cached or loaded value
+     */
+    default V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        V value = loader.apply(key);
+        cache(key, value);
+        return value;
+    }
+
+    /**
+     * Looks up all keys.
+     *
+     * @param keys keys to look up
+     * @return cached values of the keys which are present
+     */
+    default Map<K, V> loadAll(Collection<? extends K> keys) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Caches all entries. Implementations evict once for the whole batch where they can,
+     * instead of after every entry.
+     */
+    default void cacheAll(Map<? extends K, ? extends V> entries) {
+        entries.forEach(this::cache);
+    }
+
+    /**
+     * Returns the cached values and fetches all misses from the backing store in a single
+     * call of the bulk loader, caching what it returns.
+     *
+     * @param keys keys to look up
+     * @param bulkLoader backing store lookup called once with all missing keys
+     * @return cached or loaded values, without keys the bulk loader did not find
+     */
+    default Map<K, V> getAll(Collection<? extends K> keys,
+        Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> bulkLoader) {
+        var result = loadAll(keys);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (!result.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            var loaded = bulkLoader.apply(missing);
+            cacheAll(loaded);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Sets the recorder of the cache's statistics, replacing the previous one.
+     * {@link StatsCounter#disabled()} turns recording off.
+     */
+    void setStatsCounter(StatsCounter statsCounter);
+
+    /**
+     * @return statistics recorded since the cache was created or its statistics were cleared
+     */
+    CacheStats stats();
 
     void clearStats();
+
+    default int evictedCount() {
+        return (int) Math.min(Integer.MAX_VALUE, stats().evictionCount());
+    }
+
+    default int missCount() {
+        return (int) Math.min(Integer.MAX_VALUE, stats().missCount());
+    }
 }
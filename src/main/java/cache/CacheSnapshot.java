@@ -0,0 +1,179 @@
+package cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes the entries of a {@link Cache} to a file and restores them into a new cache after
+ * a restart, so it does not start cold.
+ * <p>
+ * Entries are written in the order of {@link Cache#forEachEntry}. Restoring caches them in
+ * that order and loads every key once per recorded hit, so recency, frequency and queue
+ * placement are rebuilt by the target's own policy instead of copied from its internals.
+ * Hits are capped at {@value #MAX_HITS}, enough to pass any frequency threshold of the
+ * policies here.
+ * <p>
+ * Layout: {@code [int magic][int version][long count]}, then per entry
+ * {@code [byte hits][int keyLength][int valueLength][key][value]}.
+ */
+public final class CacheSnapshot {
+
+    static final int MAX_HITS = 15;
+
+    private static final int MAGIC = 0x43534e50;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = 1 + 2 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+    private CacheSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file first and moves it over the target once
+     * complete, so a crash never leaves a truncated snapshot behind.
+     *
+     * @return number of entries written
+     */
+    public static <K, V> long write(Cache<K, V> cache,
+        Path file,
+        Serializer<K> keySerializer,
+        Serializer<V> valueSerializer) {
+        var temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            var writer = new Writer<>(channel, keySerializer, valueSerializer);
+            writer.buffer.putInt(MAGIC).putInt(VERSION).putLong(0);
+            cache.forEachEntry(writer);
+            writer.flush();
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, writer.count), 2 * Integer.BYTES);
+            channel.force(false);
+            Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            return writer.count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the snapshot through a memory mapping and replays it into the cache,
+     * which should be empty. Statistics are cleared afterwards.
+     *
+     * @return number of entries read
+     */
+    public static <K, V> long restore(Path file,
+        Cache<K, V> cache,
+        Serializer<K> keySerializer,
+        Serializer<V> valueSerializer) {
+        try (var channel = FileChannel.open(file, READ)) {
+            long fileSize = channel.size();
+            if (fileSize < FILE_HEADER_SIZE) {
+                throw new IllegalArgumentException("Not a cache snapshot: " + file);
+            }
+            var buffer = map(channel, 0, fileSize);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a cache snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version + ": " + file);
+            }
+            long count = buffer.getLong();
+
+            long windowStart = 0;
+            for (long i = 0; i < count; i++) {
+                if (buffer.remaining() < RECORD_HEADER_SIZE
+                    || buffer.remaining() < RECORD_HEADER_SIZE + recordLength(buffer)) {
+                    windowStart += buffer.position();
+                    buffer = map(channel, windowStart, fileSize);
+                }
+                int hits = buffer.get();
+                int keyLength = buffer.getInt();
+                int valueLength = buffer.getInt();
+                var key = keySerializer.read(buffer, keyLength);
+                var value = valueSerializer.read(buffer, valueLength);
+                replay(cache, key, value, hits);
+            }
+            cache.clearStats();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Caches the entry and loads it once per hit, at most {@value #MAX_HITS} times, so policies
+     * reporting their full frequency are not replayed for every hit they ever had.
+     */
+    static <K, V> void replay(Cache<K, V> cache, K key, V value, int hits) {
+        cache.cache(key, value);
+        for (int hit = Math.min(hits, MAX_HITS); hit > 0; hit--) {
+            cache.getIfPresent(key);
+        }
+    }
+
+    private static long recordLength(ByteBuffer buffer) {
+        int position = buffer.position();
+        return (long) buffer.getInt(position + 1) + buffer.getInt(position + 1 + Integer.BYTES);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long fileSize) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_WINDOW_SIZE, fileSize - position));
+    }
+
+    private static final class Writer<K, V> implements EntryVisitor<K, V> {
+        private final FileChannel channel;
+        private final Serializer<K> keySerializer;
+        private final Serializer<V> valueSerializer;
+        private ByteBuffer buffer;
+        private long count;
+
+        private Writer(FileChannel channel, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+            this.channel = channel;
+            this.keySerializer = keySerializer;
+            this.valueSerializer = valueSerializer;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        @Override
+        public void visit(K key, V value, int hits) {
+            int keyLength = keySerializer.size(key);
+            int valueLength = valueSerializer.size(value);
+            int recordSize = RECORD_HEADER_SIZE + keyLength + valueLength;
+            if (buffer.remaining() < recordSize) {
+                flush();
+                if (buffer.capacity() < recordSize) {
+                    buffer = ByteBuffer.allocate(recordSize);
+                }
+            }
+            buffer.put((byte) Math.min(hits, MAX_HITS)).putInt(keyLength).putInt(valueLength);
+            keySerializer.write(key, buffer);
+            valueSerializer.write(value, buffer);
+            count++;
+        }
+
+        private void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package cache;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a cache's statistics. Load times are in nanoseconds.
+ */
+public final class CacheStats {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, new long[RemovalCause.values().length]);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long[] removalCounts;
+
+    /**
+     * @param removalCounts removals indexed by {@link RemovalCause#ordinal()}
+     */
+    public CacheStats(long hitCount,
+        long missCount,
+        long loadSuccessCount,
+        long loadFailureCount,
+        long totalLoadTime,
+        long[] removalCounts) {
+        if (removalCounts.length != RemovalCause.values().length) {
+            throw new IllegalArgumentException("Expected a removal count for every cause");
+        }
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.removalCounts = removalCounts.clone();
+    }
+
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return ratio of hits to requests, 1 when there were no requests
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return average nanoseconds spent loading a value, successfully or not
+     */
+    public double averageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+
+    /**
+     * @return entries removed by the cache itself, because of their size or expiration
+     */
+    public long evictionCount() {
+        return removalCount(RemovalCause.SIZE) + removalCount(RemovalCause.EXPIRED);
+    }
+
+    public long removalCount(RemovalCause cause) {
+        return removalCounts[cause.ordinal()];
+    }
+
+    /**
+     * @return statistics recorded between the other snapshot and this one
+     */
+    public CacheStats minus(CacheStats other) {
+        long[] removals = new long[removalCounts.length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = removalCounts[i] - other.removalCounts[i];
+        }
+        return new CacheStats(hitCount - other.hitCount,
+            missCount - other.missCount,
+            loadSuccessCount - other.loadSuccessCount,
+            loadFailureCount - other.loadFailureCount,
+            totalLoadTime - other.totalLoadTime,
+            removals);
+    }
+
+    public CacheStats plus(CacheStats other) {
+        long[] removals = new long[removalCounts.length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = removalCounts[i] + other.removalCounts[i];
+        }
+        return new CacheStats(hitCount + other.hitCount,
+            missCount + other.missCount,
+            loadSuccessCount + other.loadSuccessCount,
+            loadFailureCount + other.loadFailureCount,
+            totalLoadTime + other.totalLoadTime,
+            removals);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        CacheStats that = (CacheStats) o;
+        return hitCount == that.hitCount &&
+            missCount == that.missCount &&
+            loadSuccessCount == that.loadSuccessCount &&
+            loadFailureCount == that.loadFailureCount &&
+            totalLoadTime == that.totalLoadTime &&
+            Arrays.equals(removalCounts, that.removalCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(hitCount);
+        result = 31 * result + Long.hashCode(missCount);
+        result = 31 * result + Long.hashCode(loadSuccessCount);
+        result = 31 * result + Long.hashCode(loadFailureCount);
+        result = 31 * result + Long.hashCode(totalLoadTime);
+        return 31 * result + Arrays.hashCode(removalCounts);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("CacheStats{")
+            .append("hitCount=").append(hitCount)
+            .append(", missCount=").append(missCount)
+            .append(", loadSuccessCount=").append(loadSuccessCount)
+            .append(", loadFailureCount=").append(loadFailureCount)
+            .append(", totalLoadTime=").append(totalLoadTime);
+        for (var cause : RemovalCause.values()) {
+            builder.append(", ").append(cause).append('=').append(removalCount(cause));
+        }
+        return builder.append('}').toString();
+    }
+}
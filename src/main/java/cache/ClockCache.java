@@ -0,0 +1,122 @@
+package cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CLOCK cache, approximating LRU with a reference bit per entry. A hit only sets the entry's bit;
+ * on eviction a hand sweeps the slots in a circle, clearing set bits and evicting the first entry
+ * whose bit is clear, so recently used entries get a second chance.
+ */
+public class ClockCache<K, V> extends AbstractCache<K, V> {
+
+    private final Map<K, Entry<K, V>> cache;
+    private final Entry<K, V>[] slots;
+    private final int[] freeSlots;
+
+    private int freeCount;
+    private int filled;
+    private int hand;
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.cache = new HashMap<>();
+        this.slots = new Entry[capacity];
+        this.freeSlots = new int[capacity];
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var entry = cache.get(key);
+        if (entry == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        entry.referenced = true;
+        return entry.value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        var entry = cache.get(key);
+        if (entry != null) {
+            var old = entry.value;
+            entry.value = value;
+            entry.referenced = true;
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+            return;
+        }
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else if (filled < slots.length) {
+            slot = filled++;
+        } else {
+            slot = sweep();
+        }
+        entry = new Entry<>(key, value, slot);
+        slots[slot] = entry;
+        cache.put(key, entry);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var entry = cache.remove(key);
+        if (entry != null) {
+            slots[entry.slot] = null;
+            freeSlots[freeCount++] = entry.slot;
+            notifyRemoval(key, entry.value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits the entries in the order the hand reaches them, referenced ones with a hit.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (int i = 0; i < slots.length; i++) {
+            var entry = slots[(hand + i) % slots.length];
+            if (entry != null) {
+                visitor.visit(entry.key, entry.value, entry.referenced ? 1 : 0);
+            }
+        }
+    }
+
+    /**
+     * Advances the hand to the first entry without its reference bit, clearing the bits
+     * on the way, and evicts it. Ends after at most one full circle.
+     *
+     * @return slot of the evicted entry
+     */
+    private int sweep() {
+        while (true) {
+            var entry = slots[hand];
+            int slot = hand;
+            hand = hand + 1 == slots.length ? 0 : hand + 1;
+            if (!entry.referenced) {
+                cache.remove(entry.key);
+                notifyRemoval(entry.key, entry.value, RemovalCause.SIZE);
+                return slot;
+            }
+            entry.referenced = false;
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final int slot;
+        private V value;
+        private boolean referenced;
+
+        private Entry(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CLOCK-Pro cache. Resident entries are hot or cold and sit on one circular list together with
+ * non-resident test entries, which remember recently evicted cold keys without their values.
+ * As in {@link ClockCache} a hit only sets the entry's reference bit; three hands do the work on
+ * insertion. The cold hand evicts unreferenced cold entries, turning them into test entries, and
+ * promotes referenced ones to hot. The hot hand demotes unreferenced hot entries to cold. The test
+ * hand drops test entries that were not reused in time. A miss on a test entry means its reuse
+ * distance was short enough to keep it, so it comes back hot and the cold share grows; a test
+ * entry dropping out shrinks the cold share.
+ */
+public class ClockProCache<K, V> extends AbstractCache<K, V> {
+
+    private static final int HOT = 0;
+    private static final int COLD = 1;
+    private static final int TEST = 2;
+
+    private final Map<K, Node<K, V>> cache;
+    private final LinkedDeque<Node<K, V>> ring;
+    private final int capacity;
+
+    private int coldTarget;
+    private int hotCount;
+    private int coldCount;
+    private int testCount;
+
+    private Node<K, V> handHot;
+    private Node<K, V> handCold;
+    private Node<K, V> handTest;
+
+    public ClockProCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.cache = new HashMap<>();
+        this.ring = new LinkedDeque<>();
+        this.coldTarget = capacity;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var node = cache.get(key);
+        if (node == null || node.status == TEST) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        node.referenced = true;
+        return node.value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        var node = cache.get(key);
+        if (node == null) {
+            node = new Node<>(key, value);
+            add(node);
+            coldCount++;
+        } else if (node.status != TEST) {
+            var old = node.value;
+            node.value = value;
+            node.referenced = true;
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        } else {
+            if (coldTarget < capacity) {
+                coldTarget++;
+            }
+            testCount--;
+            unlink(node);
+            node.value = value;
+            node.referenced = false;
+            node.status = HOT;
+            add(node);
+            hotCount++;
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var node = cache.get(key);
+        if (node != null && node.status != TEST) {
+            if (node.status == HOT) {
+                hotCount--;
+            } else {
+                coldCount--;
+            }
+            unlink(node);
+            notifyRemoval(key, node.value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits the cold entries in the order the cold hand reaches them, then the hot ones,
+     * which count as hit at least once. Test entries are skipped.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (int status : new int[] {COLD, HOT}) {
+            var node = handCold;
+            for (int i = 0; i < ring.size(); i++, node = next(node)) {
+                if (node.status == status) {
+                    visitor.visit(node.key, node.value, (status == HOT ? 1 : 0) + (node.referenced ? 1 : 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return current target number of resident cold entries
+     */
+    int coldTarget() {
+        return coldTarget;
+    }
+
+    /**
+     * Makes room for one resident entry, then links the node in just behind the hot hand,
+     * which is the head of the clock.
+     */
+    private void add(Node<K, V> node) {
+        while (hotCount + coldCount >= capacity) {
+            runHandCold();
+            while (testCount > capacity || hotCount > capacity - coldTarget) {
+                if (testCount > capacity) {
+                    runHandTest();
+                } else {
+                    runHandHot();
+                }
+            }
+        }
+        cache.put(node.key, node);
+        if (handHot == null) {
+            ring.addLast(node);
+            handHot = node;
+            handCold = node;
+            handTest = node;
+        } else if (handHot.prev == null) {
+            ring.addLast(node);
+        } else {
+            ring.addAfter(handHot.prev, node);
+        }
+        if (handCold == handHot) {
+            handCold = prev(handCold);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        cache.remove(node.key);
+        if (node == handHot) {
+            handHot = prev(node);
+        }
+        if (node == handCold) {
+            handCold = prev(node);
+        }
+        if (node == handTest) {
+            handTest = prev(node);
+        }
+        ring.remove(node);
+        if (ring.isEmpty()) {
+            handHot = null;
+            handCold = null;
+            handTest = null;
+        }
+    }
+
+    /**
+     * Each hand moves by one node. A hand about to pass the hand behind it in the order
+     * hot, test, cold pushes that one a node ahead first, so no hand moves another one
+     * back and moving them ends even when all three share the only node of the ring.
+     * The caller loops until the counts are back within their targets.
+     */
+    private void runHandCold() {
+        var node = handCold;
+        if (node.status == COLD) {
+            coldCount--;
+            if (node.referenced) {
+                node.referenced = false;
+                node.status = HOT;
+                hotCount++;
+            } else {
+                var value = node.value;
+                node.value = null;
+                node.status = TEST;
+                testCount++;
+                notifyRemoval(node.key, value, RemovalCause.SIZE);
+            }
+        }
+        handCold = next(handCold);
+    }
+
+    private void runHandHot() {
+        if (handHot == handTest) {
+            runHandTest();
+        }
+        var node = handHot;
+        if (node.status == HOT) {
+            if (node.referenced) {
+                node.referenced = false;
+            } else {
+                node.status = COLD;
+                hotCount--;
+                coldCount++;
+            }
+        }
+        handHot = next(handHot);
+    }
+
+    private void runHandTest() {
+        if (handTest == handCold) {
+            runHandCold();
+        }
+        var node = handTest;
+        if (node.status == TEST) {
+            unlink(node);
+            testCount--;
+            if (coldTarget > 1) {
+                coldTarget--;
+            }
+        }
+        handTest = next(handTest);
+    }
+
+    private Node<K, V> next(Node<K, V> node) {
+        return node.next != null ? node.next : ring.peekFirst();
+    }
+
+    private Node<K, V> prev(Node<K, V> node) {
+        return node.prev != null ? node.prev : ring.peekLast();
+    }
+
+    private static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private V value;
+        private int status;
+        private boolean referenced;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.status = COLD;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe {@link ClockCache}. A hit is a {@link ConcurrentHashMap} lookup plus a volatile store
+ * of the reference bit, skipped when the bit is already set, so readers never take a lock or write
+ * a shared structure. Writes and the sweeping hand run under a lock.
+ */
+public class ConcurrentClockCache<K, V> extends AbstractCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<K, V>> data;
+    private final Entry<K, V>[] slots;
+    private final int[] freeSlots;
+    private final ReentrantLock evictionLock;
+    private final SingleFlight<K, V> singleFlight;
+
+    private int freeCount;
+    private int filled;
+    private int hand;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentClockCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.data = new ConcurrentHashMap<>();
+        this.slots = new Entry[capacity];
+        this.freeSlots = new int[capacity];
+        this.evictionLock = new ReentrantLock();
+        this.singleFlight = new SingleFlight<>();
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var entry = data.get(key);
+        if (entry == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        evictionLock.lock();
+        try {
+            var entry = data.get(key);
+            if (entry != null) {
+                var old = entry.value;
+                entry.value = value;
+                entry.referenced = true;
+                notifyRemoval(key, old, RemovalCause.REPLACED);
+                return;
+            }
+
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else if (filled < slots.length) {
+                slot = filled++;
+            } else {
+                slot = sweep();
+            }
+            entry = new Entry<>(key, value, slot);
+            slots[slot] = entry;
+            data.put(key, entry);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            var entry = data.remove(key);
+            if (entry != null) {
+                slots[entry.slot] = null;
+                freeSlots[freeCount++] = entry.slot;
+                notifyRemoval(key, entry.value, RemovalCause.EXPLICIT);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        evictionLock.lock();
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                var entry = slots[(hand + i) % slots.length];
+                if (entry != null) {
+                    visitor.visit(entry.key, entry.value, entry.referenced ? 1 : 0);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.load(key, loader, this, this::peek, statsCounter());
+    }
+
+    /**
+     * Looks the key up without recording statistics or setting the reference bit.
+     */
+    private V peek(K key) {
+        var entry = data.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    private int sweep() {
+        while (true) {
+            var entry = slots[hand];
+            int slot = hand;
+            hand = hand + 1 == slots.length ? 0 : hand + 1;
+            if (!entry.referenced) {
+                data.remove(entry.key, entry);
+                notifyRemoval(entry.key, entry.value, RemovalCause.SIZE);
+                return slot;
+            }
+            entry.referenced = false;
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final int slot;
+        private volatile V value;
+        private volatile boolean referenced;
+
+        private Entry(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
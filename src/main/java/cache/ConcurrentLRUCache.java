@@ -0,0 +1,179 @@
+package cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Thread-safe, approximately LRU cache. Hits are only recorded into a lossy {@link ReadBuffer}
+ * and replayed onto the recency order in batches by whichever thread wins the eviction lock,
+ * so a hit costs little more than a {@link ConcurrentHashMap} lookup. Writes are applied under the lock,
+ * which is also held while the removal listener runs.
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final LinkedDeque<Node<K, V>> accessOrder;
+    private final ReadBuffer<Node<K, V>> readBuffer;
+    private final ReentrantLock evictionLock;
+    private final Consumer<Node<K, V>> onAccess;
+    private final SingleFlight<K, V> singleFlight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maxWeight;
+
+    private long weight;
+
+    public ConcurrentLRUCache(int capacity) {
+        this(capacity, Weighers.singleton());
+    }
+
+    public ConcurrentLRUCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.data = new ConcurrentHashMap<>();
+        this.accessOrder = new LinkedDeque<>();
+        this.readBuffer = new ReadBuffer<>();
+        this.evictionLock = new ReentrantLock();
+        this.onAccess = this::onAccess;
+        this.singleFlight = new SingleFlight<>();
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(onAccess);
+            put(key, value);
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void cacheAll(Map<? extends K, ? extends V> entries) {
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(onAccess);
+            entries.forEach(this::put);
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            var node = data.remove(key);
+            if (node != null) {
+                accessOrder.remove(node);
+                weight -= node.weight;
+                notifyRemoval(key, node.value, RemovalCause.EXPLICIT);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Replays the pending reads first, so the entries are visited in exact recency order.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        evictionLock.lock();
+        try {
+            readBuffer.drainTo(onAccess);
+            for (var node = accessOrder.peekFirst(); node != null; node = node.next) {
+                visitor.visit(node.key, node.value, 0);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var node = data.get(key);
+        if (node == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        if (readBuffer.offer(node)) {
+            tryDrain();
+        }
+        return node.value;
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.load(key, loader, this, this::peek, statsCounter());
+    }
+
+    /**
+     * Looks the key up without recording statistics or buffering a read.
+     */
+    private V peek(K key) {
+        var node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    private void put(K key, V value) {
+        int nodeWeight = weigher.weigh(key, value);
+        var node = data.get(key);
+        if (node == null) {
+            node = new Node<>(key, value, nodeWeight);
+            data.put(key, node);
+            accessOrder.addLast(node);
+            weight += nodeWeight;
+        } else {
+            var old = node.value;
+            weight += nodeWeight - node.weight;
+            node.value = value;
+            node.weight = nodeWeight;
+            accessOrder.moveToLast(node);
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        }
+    }
+
+    private void tryDrain() {
+        if (evictionLock.tryLock()) {
+            try {
+                readBuffer.drainTo(onAccess);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (accessOrder.contains(node)) {
+            accessOrder.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        while (weight > maxWeight) {
+            var victim = accessOrder.pollFirst();
+            data.remove(victim.key, victim);
+            weight -= victim.weight;
+            notifyRemoval(victim.key, victim.value, RemovalCause.SIZE);
+        }
+    }
+
+    private static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private volatile V value;
+        private int weight;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics recorder on striped {@link LongAdder}s, so concurrent hits on different
+ * threads do not contend on a single counter.
+ */
+public final class ConcurrentStatsCounter implements StatsCounter {
+
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder loadSuccessCount;
+    private final LongAdder loadFailureCount;
+    private final LongAdder totalLoadTime;
+    private final LongAdder[] removalCounts;
+
+    public ConcurrentStatsCounter() {
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.loadSuccessCount = new LongAdder();
+        this.loadFailureCount = new LongAdder();
+        this.totalLoadTime = new LongAdder();
+        this.removalCounts = new LongAdder[RemovalCause.values().length];
+        for (int i = 0; i < removalCounts.length; i++) {
+            removalCounts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordHits(int count) {
+        hitCount.add(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        missCount.add(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+        removalCounts[cause.ordinal()].increment();
+    }
+
+    /**
+     * Counters are read one by one, so a snapshot taken during concurrent updates
+     * may be slightly inconsistent between its counts.
+     */
+    @Override
+    public CacheStats snapshot() {
+        long[] removals = new long[removalCounts.length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = removalCounts[i].sum();
+        }
+        return new CacheStats(hitCount.sum(),
+            missCount.sum(),
+            loadSuccessCount.sum(),
+            loadFailureCount.sum(),
+            totalLoadTime.sum(),
+            removals);
+    }
+}
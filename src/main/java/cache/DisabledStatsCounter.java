@@ -0,0 +1,30 @@
+package cache;
+
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    @Override
+    public void recordHits(int count) {
+    }
+
+    @Override
+    public void recordMisses(int count) {
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return CacheStats.empty();
+    }
+}
@@ -0,0 +1,13 @@
+package cache;
+
+/**
+ * Receives the entries of a cache from {@link Cache#forEachEntry}.
+ */
+@FunctionalInterface
+public interface EntryVisitor<K, V> {
+
+    /**
+     * @param hits number of hits the policy counts for the entry, zero when it does not track them
+     */
+    void visit(K key, V value, int hits);
+}
@@ -0,0 +1,174 @@
+package cache;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Adds expiration to any eviction policy. Entries expire a fixed time after they were written,
+ * after they were last read, or whichever comes first. Expired entries are never served; they
+ * are also removed from the underlying cache by a {@link TimerWheel} advanced on every call,
+ * so they do not hold capacity until the policy evicts them.
+ * <p>
+ * The underlying cache keeps the entries' {@link Node} holders and decides eviction. Statistics
+ * are recorded by this cache only, reads of expired entries count as misses. Not thread-safe,
+ * wrap in a {@link SynchronizedCache} to share between threads.
+ */
+public class ExpiringCache<K, V> extends AbstractCache<K, V> {
+
+    private final Cache<K, Node<K, V>> cache;
+    private final TimerWheel<K, V> timerWheel;
+    private final Ticker ticker;
+    private final long origin;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+
+    private ExpiringCache(Cache<K, Node<K, V>> cache,
+        Ticker ticker,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess) {
+        Objects.requireNonNull(cache);
+        this.cache = cache;
+        this.ticker = ticker;
+        this.origin = ticker.read();
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.expireAfterAccessNanos = expireAfterAccess.toNanos();
+        this.timerWheel = new TimerWheel<>(this::expire);
+        cache.setRemovalListener(this::onRemoval);
+        cache.setStatsCounter(StatsCounter.disabled());
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        long now = advance();
+        var node = new Node<>(key, value);
+        node.writeExpireAt = saturatedAdd(now, expireAfterWriteNanos);
+        node.expireAt = Math.min(node.writeExpireAt, saturatedAdd(now, expireAfterAccessNanos));
+        if (node.expireAt != Long.MAX_VALUE) {
+            timerWheel.schedule(node);
+        }
+        cache.cache(key, node);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        long now = advance();
+        var node = cache.getIfPresent(key);
+        if (node == null) {
+            recordMiss();
+            return null;
+        }
+        if (node.expireAt <= now) {
+            recordMiss();
+            expire(node);
+            return null;
+        }
+        recordHit();
+        if (expireAfterAccessNanos != Long.MAX_VALUE) {
+            timerWheel.deschedule(node);
+            node.expireAt = Math.min(node.writeExpireAt, saturatedAdd(now, expireAfterAccessNanos));
+            timerWheel.schedule(node);
+        }
+        return node.value;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Skips expired entries. Expiration times are not visited, entries cached again from
+     * the visitor start a new lifetime.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        long now = advance();
+        cache.forEachEntry((key, node, hits) -> {
+            if (node.expireAt > now) {
+                visitor.visit(key, node.value, hits);
+            }
+        });
+    }
+
+    private long advance() {
+        long now = ticker.read() - origin;
+        timerWheel.advance(now);
+        return now;
+    }
+
+    private void expire(Node<K, V> node) {
+        node.expired = true;
+        cache.invalidate(node.key);
+    }
+
+    /**
+     * Every node leaving the underlying cache, whatever the reason, leaves the timer wheel too.
+     */
+    private void onRemoval(K key, Node<K, V> node, RemovalCause cause) {
+        timerWheel.deschedule(node);
+        if (node.expired) {
+            notifyRemoval(key, node.value, RemovalCause.EXPIRED);
+        } else {
+            notifyRemoval(key, node.value, cause);
+        }
+    }
+
+    private static long saturatedAdd(long time, long duration) {
+        long sum = time + duration;
+        return sum < time ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Holder of a value in the underlying cache, linked into a timer wheel bucket until it expires.
+     */
+    public static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private final V value;
+        long writeExpireAt;
+        long expireAt;
+        LinkedDeque<Node<K, V>> bucket;
+        private boolean expired;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    public static class Builder<K, V> {
+        private Cache<K, Node<K, V>> cache;
+        private Ticker ticker;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+
+        public Builder() {
+            this.ticker = Ticker.system();
+            this.expireAfterWrite = Duration.ofNanos(Long.MAX_VALUE);
+            this.expireAfterAccess = Duration.ofNanos(Long.MAX_VALUE);
+        }
+
+        public Builder<K, V> cache(Cache<K, Node<K, V>> cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public Builder<K, V> ticker(Ticker ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        public ExpiringCache<K, V> build() {
+            return new ExpiringCache<>(cache, ticker, expireAfterWrite, expireAfterAccess);
+        }
+    }
+}
@@ -2,59 +2,99 @@ package cache;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
 
-public class FIFOCache<K, V> implements Cache<K, V> {
+public class FIFOCache<K, V> extends AbstractCache<K, V> {
 
     private final Map<K, V> cache;
-    private final int capacity;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maxWeight;
 
-    private int evicted;
-    private int missed;
+    private long weight;
+    private boolean bulk;
 
     public FIFOCache(int capacity) {
-        this.capacity = capacity;
-        this.cache = new FIFOMap<>();
-        this.evicted = 0;
-        this.missed = 0;
+        this(capacity, Weighers.singleton());
+    }
+
+    public FIFOCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.cache = new FIFOMap();
     }
 
     @Override
     public void cache(K key, V value) {
-        cache.put(key, value);
+        weight += weigher.weigh(key, value);
+        var old = cache.put(key, value);
+        if (old != null) {
+            weight -= weigher.weigh(key, old);
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        }
+        if (!bulk) {
+            trim();
+        }
     }
 
     @Override
-    public Optional<V> load(K key) {
+    public V getIfPresent(K key) {
         var res = cache.get(key);
         if (res == null) {
-            missed++;
+            recordMiss();
+        } else {
+            recordHit();
         }
-        return Optional.ofNullable(res);
+        return res;
     }
 
     @Override
-    public int evictedCount() {
-        return evicted;
+    public void invalidate(K key) {
+        var old = cache.remove(key);
+        if (old != null) {
+            weight -= weigher.weigh(key, old);
+            notifyRemoval(key, old, RemovalCause.EXPLICIT);
+        }
     }
 
     @Override
-    public int missCount() {
-        return missed;
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        cache.forEach((key, value) -> visitor.visit(key, value, 0));
     }
 
     @Override
-    public void clearStats() {
-        missed = 0;
-        evicted = 0;
+    public void cacheAll(Map<? extends K, ? extends V> entries) {
+        bulk = true;
+        try {
+            entries.forEach(this::cache);
+        } finally {
+            bulk = false;
+        }
+        trim();
+    }
+
+    /**
+     * Evicts the eldest entries until the cache fits its maximum weight again after a bulk insert
+     * or an entry heavier than the single eldest one.
+     */
+    private void trim() {
+        if (weight <= maxWeight) {
+            return;
+        }
+        var iterator = cache.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            weight -= weigher.weigh(eldest.getKey(), eldest.getValue());
+            notifyRemoval(eldest.getKey(), eldest.getValue(), RemovalCause.SIZE);
+        }
     }
 
-    private class FIFOMap<KEY, VAL> extends LinkedHashMap<KEY, VAL> {
+    private class FIFOMap extends LinkedHashMap<K, V> {
         @Override
-        protected boolean removeEldestEntry(Map.Entry<KEY, VAL> eldest) {
-            boolean shouldRemove = size() > capacity;
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            boolean shouldRemove = !bulk && weight > maxWeight;
             if (shouldRemove) {
-                evicted++;
+                weight -= weigher.weigh(eldest.getKey(), eldest.getValue());
+                notifyRemoval(eldest.getKey(), eldest.getValue(), RemovalCause.SIZE);
             }
             return shouldRemove;
         }
@@ -0,0 +1,139 @@
+package cache;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often keys were accessed recently.
+ * Each key maps to four counters spread over different words; the estimate is their minimum.
+ * Counters are halved after a sample of {@code 10 * capacity} additions, so old popularity ages out.
+ * A doorkeeper bloom filter absorbs the first access of every key, keeping one-hit wonders out
+ * of the counters.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final long[] doorkeeper;
+    private final int tableMask;
+    private final int doorkeeperMask;
+    private final int sampleSize;
+
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int size = ceilingPowerOfTwo(Math.max(capacity, 8));
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.doorkeeper = new long[Math.max(size / 4, 1)];
+        this.doorkeeperMask = doorkeeper.length * Long.SIZE - 1;
+        this.sampleSize = 10 * Math.max(capacity, 1);
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return doorkeeperContains(hash) ? frequency + 1 : frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        if (doorkeeperPut(hash)) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter and clears the doorkeeper. Odd counters lose their remainder,
+     * which is subtracted from the addition count to keep it in line with the table.
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions - (odd >>> 2)) >>> 1;
+        Arrays.fill(doorkeeper, 0L);
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    /**
+     * @return true if the key was already present
+     */
+    private boolean doorkeeperPut(int hash) {
+        boolean present = true;
+        for (int i = 0; i < 2; i++) {
+            int index = doorkeeperIndex(hash, i);
+            long mask = 1L << doorkeeperBit(hash, i);
+            if ((doorkeeper[index] & mask) == 0) {
+                doorkeeper[index] |= mask;
+                present = false;
+            }
+        }
+        return present;
+    }
+
+    private boolean doorkeeperContains(int hash) {
+        for (int i = 0; i < 2; i++) {
+            if ((doorkeeper[doorkeeperIndex(hash, i)] & (1L << doorkeeperBit(hash, i))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int doorkeeperIndex(int hash, int i) {
+        return (probe(hash, i) & doorkeeperMask) >>> 6;
+    }
+
+    private int doorkeeperBit(int hash, int i) {
+        return probe(hash, i) & 63;
+    }
+
+    private static int probe(int hash, int i) {
+        return i == 0 ? hash : spread(hash ^ 0x5bd1e995) * 31 + hash;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+}
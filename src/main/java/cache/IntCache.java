@@ -0,0 +1,44 @@
+package cache;
+
+import java.util.Optional;
+
+/**
+ * Minimal cache for primitive int keys, so lookups neither box the key nor go through
+ * {@link Integer#hashCode()} and {@link Integer#equals(Object)}. It is not a {@link Cache}:
+ * entries are only cached and looked up, never invalidated, visited or reported to a
+ * removal listener. Statistics are recorded the same way, into a {@link StatsCounter}.
+ */
+public interface IntCache<V> {
+
+    void cache(int key, V value);
+
+    /**
+     * Returns the cached value, or null on a miss, without allocating.
+     */
+    V getIfPresent(int key);
+
+    default Optional<V> load(int key) {
+        return Optional.ofNullable(getIfPresent(key));
+    }
+
+    /**
+     * Sets the recorder of the cache's statistics, replacing the previous one.
+     * {@link StatsCounter#disabled()} turns recording off.
+     */
+    void setStatsCounter(StatsCounter statsCounter);
+
+    /**
+     * @return statistics recorded since the cache was created or its statistics were cleared
+     */
+    CacheStats stats();
+
+    void clearStats();
+
+    default int evictedCount() {
+        return (int) Math.min(Integer.MAX_VALUE, stats().evictionCount());
+    }
+
+    default int missCount() {
+        return (int) Math.min(Integer.MAX_VALUE, stats().missCount());
+    }
+}
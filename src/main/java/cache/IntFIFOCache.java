@@ -0,0 +1,59 @@
+package cache;
+
+/**
+ * FIFO {@link IntCache}. Entry ids are handed out round robin, so the id about to be
+ * reused always belongs to the oldest entry and eviction needs no queue.
+ */
+public class IntFIFOCache<V> extends AbstractIntCache<V> {
+
+    private final IntHashIndex index;
+    private final Object[] values;
+    private final int capacity;
+
+    private int nextId;
+    private int size;
+
+    public IntFIFOCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.index = new IntHashIndex(capacity);
+        this.values = new Object[capacity];
+        this.nextId = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public void cache(int key, V value) {
+        int id = index.find(key);
+        if (id >= 0) {
+            values[id] = value;
+            recordRemoval(RemovalCause.REPLACED);
+            return;
+        }
+
+        id = nextId;
+        if (size == capacity) {
+            index.remove(index.keys[id]);
+            recordRemoval(RemovalCause.SIZE);
+        } else {
+            size++;
+        }
+        index.insert(key, id);
+        values[id] = value;
+        nextId = id + 1 == capacity ? 0 : id + 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(int key) {
+        int id = index.find(key);
+        if (id < 0) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        return (V) values[id];
+    }
+}
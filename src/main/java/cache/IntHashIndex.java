@@ -0,0 +1,78 @@
+package cache;
+
+/**
+ * Open-addressing hash index from int keys to entry ids {@code 0..capacity-1}.
+ * Keys of the entries are kept in {@link #keys}, the table stores {@code id + 1}
+ * with zero marking an empty slot. Linear probing with backward shift deletion.
+ */
+final class IntHashIndex {
+
+    final int[] keys;
+
+    private final int[] table;
+    private final int mask;
+
+    IntHashIndex(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.table = new int[slots];
+        this.mask = slots - 1;
+    }
+
+    /**
+     * @return id of the entry with the key or -1
+     */
+    int find(int key) {
+        int slot = home(key);
+        int stored;
+        while ((stored = table[slot]) != 0) {
+            if (keys[stored - 1] == key) {
+                return stored - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a key which is not present in the index.
+     */
+    void insert(int key, int id) {
+        keys[id] = key;
+        int slot = home(key);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+    }
+
+    /**
+     * Removes a key which is present in the index.
+     */
+    void remove(int key) {
+        int hole = home(key);
+        while (keys[table[hole] - 1] != key) {
+            hole = (hole + 1) & mask;
+        }
+        int next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            int stored = table[next];
+            if (stored == 0) {
+                break;
+            }
+            int home = home(keys[stored - 1]);
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                table[hole] = stored;
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private int home(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,102 @@
+package cache;
+
+/**
+ * LRU {@link IntCache}. The recency list is linked through int arrays indexed by entry id.
+ */
+public class IntLRUCache<V> extends AbstractIntCache<V> {
+
+    private static final int NONE = -1;
+
+    private final IntHashIndex index;
+    private final Object[] values;
+    private final int[] prev;
+    private final int[] next;
+    private final int capacity;
+
+    private int head;
+    private int tail;
+    private int size;
+
+    public IntLRUCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.index = new IntHashIndex(capacity);
+        this.values = new Object[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.head = NONE;
+        this.tail = NONE;
+        this.size = 0;
+    }
+
+    @Override
+    public void cache(int key, V value) {
+        int id = index.find(key);
+        if (id >= 0) {
+            values[id] = value;
+            recordRemoval(RemovalCause.REPLACED);
+            moveToTail(id);
+            return;
+        }
+
+        if (size < capacity) {
+            id = size++;
+        } else {
+            id = head;
+            unlink(id);
+            index.remove(index.keys[id]);
+            recordRemoval(RemovalCause.SIZE);
+        }
+        index.insert(key, id);
+        values[id] = value;
+        linkLast(id);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(int key) {
+        int id = index.find(key);
+        if (id < 0) {
+            recordMiss();
+            return null;
+        }
+        moveToTail(id);
+        recordHit();
+        return (V) values[id];
+    }
+
+    private void moveToTail(int id) {
+        if (id != tail) {
+            unlink(id);
+            linkLast(id);
+        }
+    }
+
+    private void linkLast(int id) {
+        prev[id] = tail;
+        next[id] = NONE;
+        if (tail == NONE) {
+            head = id;
+        } else {
+            next[tail] = id;
+        }
+        tail = id;
+    }
+
+    private void unlink(int id) {
+        int p = prev[id];
+        int n = next[id];
+        if (p == NONE) {
+            head = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NONE) {
+            tail = p;
+        } else {
+            prev[n] = p;
+        }
+    }
+}
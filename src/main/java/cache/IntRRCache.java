@@ -0,0 +1,58 @@
+package cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random replacement {@link IntCache}. Entry ids are dense, so the victim is a random id
+ * which is then reused by the new entry.
+ */
+public class IntRRCache<V> extends AbstractIntCache<V> {
+
+    private final IntHashIndex index;
+    private final Object[] values;
+    private final int capacity;
+
+    private int size;
+
+    public IntRRCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.index = new IntHashIndex(capacity);
+        this.values = new Object[capacity];
+        this.size = 0;
+    }
+
+    @Override
+    public void cache(int key, V value) {
+        int id = index.find(key);
+        if (id >= 0) {
+            values[id] = value;
+            recordRemoval(RemovalCause.REPLACED);
+            return;
+        }
+
+        if (size < capacity) {
+            id = size++;
+        } else {
+            id = ThreadLocalRandom.current().nextInt(capacity);
+            index.remove(index.keys[id]);
+            recordRemoval(RemovalCause.SIZE);
+        }
+        index.insert(key, id);
+        values[id] = value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(int key) {
+        int id = index.find(key);
+        if (id < 0) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        return (V) values[id];
+    }
+}
@@ -1,90 +1,204 @@
 package cache;
 
 import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Optional;
+import java.util.Map;
 
-public class LFRUCache<K, V> implements Cache<K, V> {
+/**
+ * Least frequently used cache, evicting the least recently used entry among the least
+ * frequently used ones. Frequencies form an intrusive ascending list of nodes and every
+ * node owns an intrusive list of its entries, so a hit is a single hash lookup plus
+ * O(1) relinking, without boxing the frequency.
+ */
+public class LFRUCache<K, V> extends AbstractCache<K, V> {
 
-    private final HashMap<K, V> cache;
-    private final HashMap<K, Long> frequency;
-    private final HashMap<Long, LinkedHashSet<K>> frequencySets;
-    private final int capacity;
+    private final HashMap<K, Entry<K, V>> cache;
+    private final LinkedDeque<FrequencyNode<K, V>> frequencies;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maxWeight;
 
-    private long min;
-    private int evicted;
-    private int missed;
+    private FrequencyNode<K, V> spare;
+    private long weight;
 
     public LFRUCache(int capacity) {
-        this.capacity = capacity;
+        this(capacity, Weighers.singleton());
+    }
+
+    public LFRUCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
         this.cache = new HashMap<>();
-        this.frequency = new HashMap<>();
-        this.frequencySets = new HashMap<>();
-        this.frequencySets.put(1L, new LinkedHashSet<>());
-        this.min = -1;
-        this.evicted = 0;
-        this.missed = 0;
+        this.frequencies = new LinkedDeque<>();
     }
 
     @Override
-    public Optional<V> load(K key) {
-        if (!cache.containsKey(key)) {
-            missed++;
-            return Optional.empty();
+    public V getIfPresent(K key) {
+        var entry = cache.get(key);
+        if (entry == null) {
+            recordMiss();
+            return null;
         }
+        recordHit();
+        increment(entry);
+        return entry.value;
+    }
 
-        long count = frequency.get(key);
-        long newCount = count + 1L;
-        frequency.put(key, newCount);
-        frequencySets.get(count).remove(key);
+    @Override
+    public void cache(K key, V value) {
+        if (replace(key, value)) {
+            trim();
+            return;
+        }
+        int entryWeight = weigher.weigh(key, value);
+        while (!cache.isEmpty() && weight + entryWeight > maxWeight) {
+            evict();
+        }
+        if (entryWeight > maxWeight) {
+            notifyRemoval(key, value, RemovalCause.SIZE);
+            return;
+        }
+        insert(key, value, entryWeight);
+    }
 
-        if (count == min && frequencySets.get(count).size() == 0) {
-            min++;
+    @Override
+    public void invalidate(K key) {
+        var entry = cache.remove(key);
+        if (entry == null) {
+            return;
+        }
+        var parent = entry.parent;
+        parent.entries.remove(entry);
+        if (parent.entries.isEmpty()) {
+            release(parent);
         }
+        weight -= entry.weight;
+        notifyRemoval(key, entry.value, RemovalCause.EXPLICIT);
+    }
+
+    @Override
+    public void cacheAll(Map<? extends K, ? extends V> entries) {
+        entries.forEach((key, value) -> {
+            if (!replace(key, value)) {
+                insert(key, value, weigher.weigh(key, value));
+            }
+        });
+        trim();
+    }
 
-        if (!frequencySets.containsKey(newCount)) {
-            frequencySets.put(newCount, new LinkedHashSet<>());
+    /**
+     * Visits the frequencies in ascending order and the entries of each from the least recently used.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var node = frequencies.peekFirst(); node != null; node = node.next) {
+            int hits = (int) Math.min(Integer.MAX_VALUE, node.frequency - 1L);
+            for (var entry = node.entries.peekFirst(); entry != null; entry = entry.next) {
+                visitor.visit(entry.key, entry.value, hits);
+            }
         }
+    }
 
-        frequencySets.get(newCount).add(key);
+    private boolean replace(K key, V value) {
+        var entry = cache.get(key);
+        if (entry == null) {
+            return false;
+        }
+        var old = entry.value;
+        int entryWeight = weigher.weigh(key, value);
+        weight += entryWeight - entry.weight;
+        entry.value = value;
+        entry.weight = entryWeight;
+        increment(entry);
+        notifyRemoval(key, old, RemovalCause.REPLACED);
+        return true;
+    }
 
-        return Optional.of(cache.get(key));
+    private void insert(K key, V value, int entryWeight) {
+        var first = frequencies.peekFirst();
+        if (first == null || first.frequency != 1L) {
+            first = obtain(1L);
+            frequencies.addFirst(first);
+        }
+        var entry = new Entry<>(key, value, entryWeight, first);
+        first.entries.addLast(entry);
+        cache.put(key, entry);
+        weight += entryWeight;
     }
 
-    @Override
-    public void cache(K key, V value) {
-        if (cache.containsKey(key)) {
-            cache.put(key, value);
-            load(key);
-            return;
+    private void increment(Entry<K, V> entry) {
+        var current = entry.parent;
+        var next = current.next;
+        if (next == null || next.frequency != current.frequency + 1L) {
+            next = obtain(current.frequency + 1L);
+            frequencies.addAfter(current, next);
         }
+        current.entries.remove(entry);
+        next.entries.addLast(entry);
+        entry.parent = next;
+        if (current.entries.isEmpty()) {
+            release(current);
+        }
+    }
+
+    private void trim() {
+        while (weight > maxWeight) {
+            evict();
+        }
+    }
 
-        if (cache.size() >= capacity) {
-            K evict = frequencySets.get(min).iterator().next();
-            frequencySets.get(min).remove(evict);
-            cache.remove(evict);
-            evicted++;
+    private void evict() {
+        var first = frequencies.peekFirst();
+        if (first == null) {
+            return;
+        }
+        var victim = first.entries.pollFirst();
+        cache.remove(victim.key);
+        if (first.entries.isEmpty()) {
+            release(first);
         }
+        weight -= victim.weight;
+        notifyRemoval(victim.key, victim.value, RemovalCause.SIZE);
+    }
 
-        cache.put(key, value);
-        frequency.put(key, 1L);
-        min = 1L;
-        frequencySets.get(1L).add(key);
+    private FrequencyNode<K, V> obtain(long frequency) {
+        var node = spare;
+        if (node == null) {
+            return new FrequencyNode<>(frequency);
+        }
+        spare = null;
+        node.frequency = frequency;
+        return node;
     }
 
-    @Override
-    public int evictedCount() {
-        return evicted;
+    /**
+     * Unlinks an empty frequency node and keeps it for reuse, so walking an entry
+     * up the frequency list does not allocate a node per level.
+     */
+    private void release(FrequencyNode<K, V> node) {
+        frequencies.remove(node);
+        spare = node;
     }
 
-    @Override
-    public int missCount() {
-        return missed;
+    private static final class FrequencyNode<K, V> extends Linked<FrequencyNode<K, V>> {
+        private final LinkedDeque<Entry<K, V>> entries;
+        private long frequency;
+
+        private FrequencyNode(long frequency) {
+            this.entries = new LinkedDeque<>();
+            this.frequency = frequency;
+        }
     }
 
-    @Override
-    public void clearStats() {
-        missed = 0;
-        evicted = 0;
+    private static final class Entry<K, V> extends Linked<Entry<K, V>> {
+        private final K key;
+        private V value;
+        private int weight;
+        private FrequencyNode<K, V> parent;
+
+        private Entry(K key, V value, int weight, FrequencyNode<K, V> parent) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.parent = parent;
+        }
     }
 }
@@ -0,0 +1,9 @@
+package cache;
+
+/**
+ * Base of the intrusive nodes linked by {@link LinkedDeque}.
+ */
+abstract class Linked<N extends Linked<N>> {
+    N prev;
+    N next;
+}
@@ -0,0 +1,113 @@
+package cache;
+
+/**
+ * Intrusive doubly linked deque. Nodes carry their own links, so moving or removing
+ * a node is O(1) and allocation-free. A node can belong to at most one deque at a time.
+ */
+final class LinkedDeque<N extends Linked<N>> {
+
+    private N first;
+    private N last;
+    private int size;
+
+    N peekFirst() {
+        return first;
+    }
+
+    N peekLast() {
+        return last;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(N node) {
+        return node.prev != null || node.next != null || first == node;
+    }
+
+    void addFirst(N node) {
+        node.next = first;
+        if (first == null) {
+            last = node;
+        } else {
+            first.prev = node;
+        }
+        first = node;
+        size++;
+    }
+
+    void addLast(N node) {
+        node.prev = last;
+        if (last == null) {
+            first = node;
+        } else {
+            last.next = node;
+        }
+        last = node;
+        size++;
+    }
+
+    void addAfter(N anchor, N node) {
+        N next = anchor.next;
+        node.prev = anchor;
+        node.next = next;
+        anchor.next = node;
+        if (next == null) {
+            last = node;
+        } else {
+            next.prev = node;
+        }
+        size++;
+    }
+
+    N pollFirst() {
+        N node = first;
+        if (node != null) {
+            remove(node);
+        }
+        return node;
+    }
+
+    void remove(N node) {
+        N prev = node.prev;
+        N next = node.next;
+        if (prev == null) {
+            first = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            last = prev;
+        } else {
+            next.prev = prev;
+        }
+        node.prev = null;
+        node.next = null;
+        size--;
+    }
+
+    void moveToLast(N node) {
+        if (node != last) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    void clear() {
+        N node = first;
+        while (node != null) {
+            N next = node.next;
+            node.prev = null;
+            node.next = null;
+            node = next;
+        }
+        first = null;
+        last = null;
+        size = 0;
+    }
+}
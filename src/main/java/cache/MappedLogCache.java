@@ -0,0 +1,328 @@
+package cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Cache storing serialized entries in a log of memory-mapped segment files, meant as the
+ * second tier of a {@link TieredCache}. Records are appended to the newest segment; a full
+ * segment is sealed and a new one opened. Replaced and invalidated records stay in their
+ * segment as garbage, a segment left without live records is freed right away.
+ * <p>
+ * When the log reaches its segment limit, the sealed segment with the least live data is
+ * compacted, its live records copied into the new segment, if at most half of it is live.
+ * Otherwise the oldest segment is evicted with all its live records, like {@link FIFOCache}.
+ * <p>
+ * A file stays mapped until its buffer is garbage collected, so deleting a freed segment
+ * would reclaim neither its disk space nor its mapping. Freed segments are kept instead and
+ * reused for the next segments opened, which bounds the log to {@code maxSegments + 1}
+ * mapped files until {@link #close()}.
+ * <p>
+ * The index of record locations is kept on heap. Record layout:
+ * {@code [int keyLength][int valueLength][key][value]}. Not thread-safe.
+ */
+public class MappedLogCache<K, V> extends AbstractCache<K, V> implements Closeable {
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final Map<K, Location> index;
+    private final ArrayDeque<Segment> segments;
+    private final ArrayDeque<Segment> freeSegments;
+
+    private int nextSegmentId;
+    private long compactionCount;
+
+    public MappedLogCache(Path directory,
+        int segmentSize,
+        int maxSegments,
+        Serializer<K> keySerializer,
+        Serializer<V> valueSerializer) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must exceed " + HEADER_SIZE + " bytes: " + segmentSize);
+        }
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("At least two segments are needed: " + maxSegments);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.index = new HashMap<>();
+        this.segments = new ArrayDeque<>();
+        this.freeSegments = new ArrayDeque<>();
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        int keyLength = keySerializer.size(key);
+        int valueLength = valueSerializer.size(value);
+        int recordSize = HEADER_SIZE + keyLength + valueLength;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Entry of " + recordSize + " bytes exceeds segment size " + segmentSize);
+        }
+
+        var segment = reserve(recordSize);
+        int offset = segment.writeOffset;
+        var buffer = segment.buffer;
+        buffer.putInt(offset, keyLength);
+        buffer.putInt(offset + 4, valueLength);
+        buffer.position(offset + HEADER_SIZE);
+        keySerializer.write(key, buffer);
+        valueSerializer.write(value, buffer);
+        segment.append(recordSize);
+
+        var old = index.put(key, new Location(segment, offset));
+        if (old != null) {
+            V replaced = hasRemovalListener() ? readValue(old) : null;
+            release(old);
+            notifyRemoval(key, replaced, RemovalCause.REPLACED);
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var location = index.get(key);
+        if (location == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        return readValue(location);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var location = index.remove(key);
+        if (location != null) {
+            V value = hasRemovalListener() ? readValue(location) : null;
+            release(location);
+            notifyRemoval(key, value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits the live records from the oldest segment.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var segment : segments) {
+            for (int offset = 0; offset < segment.writeOffset; offset += segment.recordSize(offset)) {
+                var key = readKey(segment, offset);
+                var location = index.get(key);
+                if (location != null && location.segment == segment && location.offset == offset) {
+                    visitor.visit(key, readValue(location), 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes all segment files, whose mappings are released once their buffers are garbage
+     * collected. The cache is empty afterwards and can still be used.
+     */
+    @Override
+    public void close() {
+        while (!segments.isEmpty()) {
+            delete(segments.pollFirst());
+        }
+        while (!freeSegments.isEmpty()) {
+            delete(freeSegments.pollFirst());
+        }
+        index.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return bytes of the segment files currently mapped, free segments kept for reuse included
+     */
+    public long diskBytes() {
+        return (long) (segments.size() + freeSegments.size()) * segmentSize;
+    }
+
+    public long compactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * @return segment with room for the record, opening new segments as needed
+     */
+    private Segment reserve(int recordSize) {
+        var active = segments.peekLast();
+        while (active == null || active.writeOffset + recordSize > segmentSize) {
+            active = openSegment();
+            if (segments.size() >= maxSegments) {
+                var sparsest = sparsestSegment();
+                if (sparsest.liveBytes <= segmentSize * COMPACTION_THRESHOLD) {
+                    compact(sparsest, active);
+                } else {
+                    evict(segments.peekFirst());
+                }
+            }
+            segments.addLast(active);
+        }
+        return active;
+    }
+
+    private Segment sparsestSegment() {
+        Segment sparsest = null;
+        for (var segment : segments) {
+            if (sparsest == null || segment.liveBytes < sparsest.liveBytes) {
+                sparsest = segment;
+            }
+        }
+        return sparsest;
+    }
+
+    /**
+     * Copies the live records of the segment to the end of the target and frees it.
+     */
+    private void compact(Segment segment, Segment target) {
+        for (int offset = 0; offset < segment.writeOffset; offset += segment.recordSize(offset)) {
+            var key = readKey(segment, offset);
+            var location = index.get(key);
+            if (location != null && location.segment == segment && location.offset == offset) {
+                int recordSize = segment.recordSize(offset);
+                var record = segment.buffer.duplicate();
+                record.limit(offset + recordSize).position(offset);
+                target.buffer.position(target.writeOffset);
+                target.buffer.put(record);
+                index.put(key, new Location(target, target.writeOffset));
+                target.append(recordSize);
+            }
+        }
+        free(segment);
+        compactionCount++;
+    }
+
+    private void evict(Segment segment) {
+        for (int offset = 0; offset < segment.writeOffset; offset += segment.recordSize(offset)) {
+            var key = readKey(segment, offset);
+            var location = index.get(key);
+            if (location != null && location.segment == segment && location.offset == offset) {
+                index.remove(key);
+                notifyRemoval(key, hasRemovalListener() ? readValue(location) : null, RemovalCause.SIZE);
+            }
+        }
+        free(segment);
+    }
+
+    /**
+     * Marks the record as garbage, freeing its segment once nothing in it is live
+     * unless records are still appended to it.
+     */
+    private void release(Location location) {
+        var segment = location.segment;
+        segment.liveBytes -= segment.recordSize(location.offset);
+        segment.liveRecords--;
+        if (segment.liveRecords == 0 && segment != segments.peekLast()) {
+            free(segment);
+        }
+    }
+
+    /**
+     * Removes the segment from the log and keeps it, mapped, for reuse. Callers make sure no
+     * index entry still points into it.
+     */
+    private void free(Segment segment) {
+        segments.remove(segment);
+        segment.writeOffset = 0;
+        segment.liveBytes = 0;
+        segment.liveRecords = 0;
+        freeSegments.addLast(segment);
+    }
+
+    private K readKey(Segment segment, int offset) {
+        var buffer = segment.buffer;
+        buffer.position(offset + HEADER_SIZE);
+        return keySerializer.read(buffer, buffer.getInt(offset));
+    }
+
+    private V readValue(Location location) {
+        var buffer = location.segment.buffer;
+        int offset = location.offset;
+        buffer.position(offset + HEADER_SIZE + buffer.getInt(offset));
+        return valueSerializer.read(buffer, buffer.getInt(offset + 4));
+    }
+
+    private Segment openSegment() {
+        var free = freeSegments.pollFirst();
+        if (free != null) {
+            return free;
+        }
+        var file = directory.resolve("segment" + nextSegmentId++ + ".log");
+        try {
+            Files.createDirectories(directory);
+            try (var channel = FileChannel.open(file, CREATE_NEW, READ, WRITE)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+                buffer.order(ByteOrder.nativeOrder());
+                return new Segment(file, buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int liveBytes;
+        private int liveRecords;
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private void append(int recordSize) {
+            writeOffset += recordSize;
+            liveBytes += recordSize;
+            liveRecords++;
+        }
+
+        private int recordSize(int offset) {
+            return HEADER_SIZE + buffer.getInt(offset) + buffer.getInt(offset + 4);
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+
+        private Location(Segment segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Cache keeping serialized keys and values outside of the Java heap. Records are appended
+ * to a ring of slabs and evicted from its head in write order, like {@link FIFOCache}.
+ * Keys are found through an open-addressing index which is also stored off heap, so the
+ * cache adds only a constant number of objects to the heap regardless of its size.
+ * <p>
+ * Record layout: {@code [int hash][int keyLength][int valueLength][key][value]}.
+ * Index slot layout: {@code [long address + 1][int hash][int unused]}, zero meaning empty.
+ * <p>
+ * Removed keys and values are only deserialized when a removal listener is set,
+ * otherwise the removal is only counted in the statistics.
+ */
+public class OffHeapCache<K, V> extends AbstractCache<K, V> {
+
+    /**
+     * Largest capacity whose index, twice as many slots as keys rounded up to a power of two,
+     * still fits into one buffer of at most {@link Integer#MAX_VALUE} bytes.
+     */
+    static final int MAX_CAPACITY = (1 << 25) - 1;
+
+    private static final int MAX_SLAB_SIZE = 64 << 20;
+    private static final int MIN_SLAB_COUNT = 8;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int INDEX_SLOT_SIZE = 16;
+
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final ByteBuffer[] slabs;
+    private final int[] slabLimits;
+    private final int slabSize;
+    private final ByteBuffer index;
+    private final int indexMask;
+    private final int capacity;
+
+    private ByteBuffer scratch;
+    private int writeSlab;
+    private int writeOffset;
+    private int headSlab;
+    private int headOffset;
+    private int records;
+    private int size;
+
+    public OffHeapCache(int capacity, long maxBytes, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        this(capacity, maxBytes, keySerializer, valueSerializer, ByteBuffer::allocateDirect);
+    }
+
+    public OffHeapCache(int capacity,
+        long maxBytes,
+        Serializer<K> keySerializer,
+        Serializer<V> valueSerializer,
+        IntFunction<ByteBuffer> slabAllocator) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        int slabCount = (int) Math.max(MIN_SLAB_COUNT, (maxBytes + MAX_SLAB_SIZE - 1) / MAX_SLAB_SIZE);
+        this.slabSize = (int) Math.max(HEADER_SIZE, (maxBytes + slabCount - 1) / slabCount);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabLimits = new int[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            slabs[i] = slabAllocator.apply(slabSize).order(ByteOrder.nativeOrder());
+        }
+        // capacity + 1 keys are indexed while a new one waits for the head to be evicted
+        long indexSlots = Long.highestOneBit((capacity + 1L) * 2 - 1) << 1;
+        long indexBytes = indexSlots * INDEX_SLOT_SIZE;
+        if (indexBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index of " + indexBytes + " bytes for capacity " + capacity + " exceeds a buffer");
+        }
+        this.index = ByteBuffer.allocateDirect((int) indexBytes).order(ByteOrder.nativeOrder());
+        this.indexMask = (int) indexSlots - 1;
+        this.capacity = capacity;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.scratch = ByteBuffer.allocate(64).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Slab allocator backing every slab by its own memory-mapped file in the directory,
+     * so the cache can be larger than physical memory and is paged by the OS.
+     */
+    public static IntFunction<ByteBuffer> mappedSlabs(Path directory) {
+        var counter = new AtomicInteger();
+        return slabSize -> {
+            var file = directory.resolve("slab" + counter.getAndIncrement());
+            try {
+                Files.createDirectories(directory);
+                try (var channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+                    return channel.map(FileChannel.MapMode.READ_WRITE, 0, slabSize);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        int keyLength = serializeKey(key);
+        int valueLength = valueSerializer.size(value);
+        int recordSize = HEADER_SIZE + keyLength + valueLength;
+        if (recordSize > slabSize) {
+            throw new IllegalArgumentException("Entry of " + recordSize + " bytes exceeds slab size " + slabSize);
+        }
+
+        reserve(recordSize);
+        int hash = spread(key.hashCode());
+        var slab = slabs[writeSlab];
+        slab.putInt(writeOffset, hash);
+        slab.putInt(writeOffset + 4, keyLength);
+        slab.putInt(writeOffset + 8, valueLength);
+        slab.position(writeOffset + HEADER_SIZE);
+        scratch.position(0).limit(keyLength);
+        slab.put(scratch);
+        valueSerializer.write(value, slab);
+        long address = address(writeSlab, writeOffset);
+        writeOffset += recordSize;
+        records++;
+
+        int slot = find(hash, keyLength);
+        boolean replacing = slot >= 0;
+        V replaced = replacing && hasRemovalListener() ? readValue(index.getLong(slot * INDEX_SLOT_SIZE) - 1) : null;
+        if (!replacing) {
+            slot = ~slot;
+            size++;
+        }
+        index.putLong(slot * INDEX_SLOT_SIZE, address + 1);
+        index.putInt(slot * INDEX_SLOT_SIZE + 8, hash);
+        if (replacing) {
+            notifyRemoval(key, replaced, RemovalCause.REPLACED);
+        }
+
+        while (size > capacity) {
+            evictHead();
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        int keyLength = serializeKey(key);
+        int slot = find(spread(key.hashCode()), keyLength);
+        if (slot < 0) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        return readValue(index.getLong(slot * INDEX_SLOT_SIZE) - 1);
+    }
+
+    /**
+     * Only unindexes the key, its record stays in the log until the head reaches it.
+     */
+    @Override
+    public void invalidate(K key) {
+        int keyLength = serializeKey(key);
+        int slot = find(spread(key.hashCode()), keyLength);
+        if (slot < 0) {
+            return;
+        }
+        long address = index.getLong(slot * INDEX_SLOT_SIZE) - 1;
+        V value = hasRemovalListener() ? readValue(address) : null;
+        removeSlot(slot);
+        size--;
+        notifyRemoval(key, value, RemovalCause.EXPLICIT);
+    }
+
+    /**
+     * Walks the log from its head, deserializing every record which is still indexed.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        int slab = headSlab;
+        int offset = headOffset;
+        for (int i = 0; i < records; i++) {
+            if (slab != writeSlab && offset >= slabLimits[slab]) {
+                slab = (slab + 1) % slabs.length;
+                offset = 0;
+            }
+            long address = address(slab, offset);
+            var buffer = slabs[slab];
+            int hash = buffer.getInt(offset);
+            int recordSize = HEADER_SIZE + buffer.getInt(offset + 4) + buffer.getInt(offset + 8);
+            if (isIndexed(hash, address)) {
+                visitor.visit(readKey(address), readValue(address), 0);
+            }
+            offset += recordSize;
+        }
+    }
+
+    public long offHeapBytes() {
+        return (long) slabs.length * slabSize + index.capacity();
+    }
+
+    /**
+     * Serializes the key into the scratch buffer in the byte order of the slabs, so it can be
+     * compared with stored keys and read back from them.
+     *
+     * @return key length
+     */
+    private int serializeKey(K key) {
+        int keyLength = keySerializer.size(key);
+        if (scratch.capacity() < keyLength) {
+            scratch = ByteBuffer.allocate(Math.max(keyLength, scratch.capacity() * 2)).order(ByteOrder.nativeOrder());
+        }
+        scratch.clear();
+        keySerializer.write(key, scratch);
+        return keyLength;
+    }
+
+    /**
+     * Linear probing for the key currently serialized in the scratch buffer.
+     *
+     * @return slot of the key or the bitwise complement of the empty slot where it belongs
+     */
+    private int find(int hash, int keyLength) {
+        int slot = hash & indexMask;
+        while (true) {
+            long stored = index.getLong(slot * INDEX_SLOT_SIZE);
+            if (stored == 0) {
+                return ~slot;
+            }
+            if (index.getInt(slot * INDEX_SLOT_SIZE + 8) == hash && keyEquals(stored - 1, keyLength)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    private K readKey(long address) {
+        var slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        slab.position(offset + HEADER_SIZE);
+        return keySerializer.read(slab, slab.getInt(offset + 4));
+    }
+
+    private V readValue(long address) {
+        var slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        slab.position(offset + HEADER_SIZE + slab.getInt(offset + 4));
+        return valueSerializer.read(slab, slab.getInt(offset + 8));
+    }
+
+    private boolean keyEquals(long address, int keyLength) {
+        var slab = slabs[slabOf(address)];
+        int offset = offsetOf(address);
+        if (slab.getInt(offset + 4) != keyLength) {
+            return false;
+        }
+        slab.limit(offset + HEADER_SIZE + keyLength).position(offset + HEADER_SIZE);
+        scratch.position(0).limit(keyLength);
+        boolean equal = slab.equals(scratch);
+        slab.clear();
+        return equal;
+    }
+
+    /**
+     * Makes room for a record in the current slab or moves to the next one. Records of the
+     * next slab are the oldest in the ring, so they are evicted before it is overwritten.
+     */
+    private void reserve(int recordSize) {
+        if (writeOffset + recordSize <= slabSize) {
+            return;
+        }
+        slabLimits[writeSlab] = writeOffset;
+        int next = (writeSlab + 1) % slabs.length;
+        while (records > 0 && headSlab == next) {
+            evictHead();
+        }
+        writeSlab = next;
+        writeOffset = 0;
+        if (records == 0) {
+            headSlab = writeSlab;
+            headOffset = 0;
+        }
+    }
+
+    /**
+     * Removes the oldest record of the log. Records overwritten by a newer value of the
+     * same key are no longer indexed and are dropped without counting as an eviction.
+     */
+    private void evictHead() {
+        var slab = slabs[headSlab];
+        int hash = slab.getInt(headOffset);
+        int recordSize = HEADER_SIZE + slab.getInt(headOffset + 4) + slab.getInt(headOffset + 8);
+        long address = address(headSlab, headOffset);
+
+        int slot = hash & indexMask;
+        long stored;
+        while ((stored = index.getLong(slot * INDEX_SLOT_SIZE)) != 0) {
+            if (stored - 1 == address) {
+                boolean deserialize = hasRemovalListener();
+                removeSlot(slot);
+                size--;
+                notifyRemoval(deserialize ? readKey(address) : null, deserialize ? readValue(address) : null,
+                    RemovalCause.SIZE);
+                break;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+
+        records--;
+        headOffset += recordSize;
+        if (records == 0) {
+            headSlab = writeSlab;
+            headOffset = writeOffset;
+        } else if (headSlab != writeSlab && headOffset >= slabLimits[headSlab]) {
+            headSlab = (headSlab + 1) % slabs.length;
+            headOffset = 0;
+        }
+    }
+
+    /**
+     * @return whether the index still points at the record, rather than at a newer one of its key
+     */
+    private boolean isIndexed(int hash, long address) {
+        int slot = hash & indexMask;
+        long stored;
+        while ((stored = index.getLong(slot * INDEX_SLOT_SIZE)) != 0) {
+            if (stored - 1 == address) {
+                return true;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return false;
+    }
+
+    /**
+     * Backward shift deletion, keeping every probe sequence free of holes.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & indexMask;
+            long stored = index.getLong(next * INDEX_SLOT_SIZE);
+            if (stored == 0) {
+                break;
+            }
+            int hash = index.getInt(next * INDEX_SLOT_SIZE + 8);
+            int home = hash & indexMask;
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                index.putLong(hole * INDEX_SLOT_SIZE, stored);
+                index.putInt(hole * INDEX_SLOT_SIZE + 8, hash);
+                hole = next;
+            }
+        }
+        index.putLong(hole * INDEX_SLOT_SIZE, 0L);
+        index.putInt(hole * INDEX_SLOT_SIZE + 8, 0);
+    }
+
+    private static long address(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slabOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,67 +1,112 @@
 package cache;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class RRCache<K, V> implements Cache<K, V> {
+/**
+ * Random replacement cache. Entries are also kept in a dense slot array and know their own
+ * slot, so a random victim is picked and swap-removed in O(1) without allocating once the
+ * array has grown to the number of entries.
+ */
+public class RRCache<K, V> extends AbstractCache<K, V> {
 
-    private static final Random rnd = new Random();
+    private final Map<K, Entry<K, V>> cache;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maxWeight;
 
-    private final Map<K, V> cache;
-    private final int capacity;
-
-    private int evicted;
-    private int missed;
+    private Entry<K, V>[] slots;
+    private int size;
+    private long weight;
 
     public RRCache(int capacity) {
-        this.capacity = capacity;
+        this(capacity, Weighers.singleton());
+    }
+
+    @SuppressWarnings("unchecked")
+    public RRCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
         this.cache = new HashMap<>();
-        this.evicted = 0;
-        this.missed = 0;
+        this.slots = new Entry[(int) Math.min(maxWeight + 1, 1 << 16)];
+        this.size = 0;
     }
 
     @Override
     public void cache(K key, V value) {
-        cache.put(key, value);
-        if (cache.size() > capacity) {
-            removeRandom();
-            evicted++;
+        int entryWeight = weigher.weigh(key, value);
+        var entry = cache.get(key);
+        if (entry != null) {
+            var old = entry.value;
+            weight += entryWeight - entry.weight;
+            entry.value = value;
+            entry.weight = entryWeight;
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        } else {
+            entry = new Entry<>(key, value, entryWeight, size);
+            cache.put(key, entry);
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = entry;
+            weight += entryWeight;
+        }
+
+        while (weight > maxWeight) {
+            var victim = slots[ThreadLocalRandom.current().nextInt(size)];
+            remove(victim);
+            notifyRemoval(victim.key, victim.value, RemovalCause.SIZE);
         }
     }
 
     @Override
-    public Optional<V> load(K key) {
-        var res = cache.get(key);
-        if (res == null) {
-            missed++;
+    public void invalidate(K key) {
+        var entry = cache.get(key);
+        if (entry != null) {
+            remove(entry);
+            notifyRemoval(key, entry.value, RemovalCause.EXPLICIT);
         }
-        return Optional.ofNullable(res);
     }
 
     @Override
-    public int evictedCount() {
-        return evicted;
+    public V getIfPresent(K key) {
+        var res = cache.get(key);
+        if (res == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        return res.value;
     }
 
     @Override
-    public int missCount() {
-        return missed;
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(slots[i].key, slots[i].value, 0);
+        }
     }
 
-    @Override
-    public void clearStats() {
-        missed = 0;
-        evicted = 0;
+    private void remove(Entry<K, V> entry) {
+        weight -= entry.weight;
+        var last = slots[--size];
+        slots[entry.index] = last;
+        last.index = entry.index;
+        slots[size] = null;
+        cache.remove(entry.key);
     }
 
-    private void removeRandom() {
-        List<K> keys = new ArrayList<K>(cache.keySet());
-        int randomIndex = new Random().nextInt(keys.size());
-        K randomKey = keys.get(randomIndex);
-        cache.remove(randomKey);
+    private static final class Entry<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private int index;
+
+        private Entry(K key, V value, int weight, int index) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.index = index;
+        }
     }
 }
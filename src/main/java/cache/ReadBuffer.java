@@ -0,0 +1,80 @@
+package cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Striped, bounded and lossy multi-producer buffer of recorded reads. Producers never
+ * block: when their stripe is full or contended the read is simply dropped, which only
+ * makes the replayed access order approximate. Draining must be done by one thread at a time.
+ */
+final class ReadBuffer<E> {
+
+    static final int BUFFER_SIZE = 16;
+
+    private static final int MASK = BUFFER_SIZE - 1;
+    private static final int MAX_STRIPES = 4 * Integer.highestOneBit(Runtime.getRuntime().availableProcessors());
+
+    private final Stripe<E>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        this.stripes = new Stripe[MAX_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Records an element.
+     *
+     * @return true if the stripe is full and should be drained
+     */
+    boolean offer(E element) {
+        long probe = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        var stripe = stripes[(int) (probe >>> 32) & (stripes.length - 1)];
+        return stripe.offer(element);
+    }
+
+    void drainTo(Consumer<E> consumer) {
+        for (var stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static final class Stripe<E> {
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        boolean offer(E element) {
+            long tail = writeCounter.get();
+            long size = tail - readCounter;
+            if (size >= BUFFER_SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) tail & MASK, element);
+                return size + 1 >= BUFFER_SIZE;
+            }
+            return false;
+        }
+
+        void drainTo(Consumer<E> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            while (head < tail) {
+                int index = (int) head & MASK;
+                E element = buffer.get(index);
+                if (element == null) {
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(element);
+                head++;
+            }
+            readCounter = head;
+        }
+    }
+}
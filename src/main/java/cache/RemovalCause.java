@@ -0,0 +1,24 @@
+package cache;
+
+public enum RemovalCause {
+
+    /**
+     * Removed by {@link Cache#invalidate}.
+     */
+    EXPLICIT,
+
+    /**
+     * Value overwritten by {@link Cache#cache} of the same key.
+     */
+    REPLACED,
+
+    /**
+     * Evicted by the eviction policy to stay within capacity.
+     */
+    SIZE,
+
+    /**
+     * Removed because its time to live or time to idle ran out.
+     */
+    EXPIRED
+}
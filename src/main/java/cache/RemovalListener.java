@@ -0,0 +1,10 @@
+package cache;
+
+/**
+ * Notified synchronously, on the thread removing the entry, whenever an entry leaves a cache.
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    void onRemoval(K key, V value, RemovalCause cause);
+}
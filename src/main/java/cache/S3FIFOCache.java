@@ -0,0 +1,171 @@
+package cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * S3-FIFO cache. New entries enter a small FIFO queue holding a tenth of the capacity; the rest
+ * is a main FIFO queue. A hit only bumps the entry's two-bit frequency. Entries leaving the small
+ * queue move to the main queue if they were hit there, otherwise they are dropped and their keys
+ * remembered in a ghost FIFO queue, so that one-hit wonders are evicted quickly and a key missed
+ * again while still remembered goes straight to the main queue. The main queue evicts like CLOCK,
+ * reinserting entries with a positive frequency after decrementing it.
+ */
+public class S3FIFOCache<K, V> extends AbstractCache<K, V> {
+
+    private static final byte SMALL = 0;
+    private static final byte MAIN = 1;
+    private static final byte GHOST = 2;
+    private static final byte MAX_FREQUENCY = 3;
+
+    private final Map<K, Node<K, V>> cache;
+    private final LinkedDeque<Node<K, V>> small;
+    private final LinkedDeque<Node<K, V>> main;
+    private final LinkedDeque<Node<K, V>> ghost;
+    private final int capacity;
+    private final int smallCapacity;
+    private final int ghostCapacity;
+
+    public S3FIFOCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.smallCapacity = Math.max(1, capacity / 10);
+        this.ghostCapacity = Math.max(1, capacity - smallCapacity);
+        this.cache = new HashMap<>();
+        this.small = new LinkedDeque<>();
+        this.main = new LinkedDeque<>();
+        this.ghost = new LinkedDeque<>();
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var node = cache.get(key);
+        if (node == null || node.queue == GHOST) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        if (node.frequency < MAX_FREQUENCY) {
+            node.frequency++;
+        }
+        return node.value;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        var node = cache.get(key);
+        if (node == null) {
+            evictIfFull();
+            node = new Node<>(key, value);
+            cache.put(key, node);
+            small.addLast(node);
+        } else if (node.queue != GHOST) {
+            var old = node.value;
+            node.value = value;
+            if (node.frequency < MAX_FREQUENCY) {
+                node.frequency++;
+            }
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+        } else {
+            ghost.remove(node);
+            evictIfFull();
+            node.value = value;
+            node.queue = MAIN;
+            main.addLast(node);
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var node = cache.get(key);
+        if (node != null && node.queue != GHOST) {
+            cache.remove(key);
+            (node.queue == SMALL ? small : main).remove(node);
+            notifyRemoval(key, node.value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits the main queue, then the small queue, each in FIFO order. Main entries count as hit
+     * once more than their frequency, as they were hit to get there.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var node = main.peekFirst(); node != null; node = node.next) {
+            visitor.visit(node.key, node.value, node.frequency + 1);
+        }
+        for (var node = small.peekFirst(); node != null; node = node.next) {
+            visitor.visit(node.key, node.value, node.frequency);
+        }
+    }
+
+    private void evictIfFull() {
+        while (small.size() + main.size() >= capacity) {
+            if (small.size() >= smallCapacity || main.isEmpty()) {
+                evictSmall();
+            } else {
+                evictMain();
+            }
+        }
+    }
+
+    /**
+     * Moves entries hit while in the small queue to the main queue until one that was not hit
+     * is found, which is evicted and remembered as a ghost.
+     */
+    private void evictSmall() {
+        Node<K, V> node;
+        while ((node = small.pollFirst()) != null) {
+            if (node.frequency > 0) {
+                node.frequency = 0;
+                node.queue = MAIN;
+                main.addLast(node);
+                if (main.size() > capacity - smallCapacity) {
+                    evictMain();
+                }
+                if (small.size() + main.size() < capacity) {
+                    return;
+                }
+            } else {
+                var value = node.value;
+                node.value = null;
+                node.queue = GHOST;
+                ghost.addLast(node);
+                if (ghost.size() > ghostCapacity) {
+                    cache.remove(ghost.pollFirst().key);
+                }
+                notifyRemoval(node.key, value, RemovalCause.SIZE);
+                return;
+            }
+        }
+    }
+
+    private void evictMain() {
+        Node<K, V> node;
+        while ((node = main.pollFirst()) != null) {
+            if (node.frequency > 0) {
+                node.frequency--;
+                main.addLast(node);
+            } else {
+                cache.remove(node.key);
+                notifyRemoval(node.key, node.value, RemovalCause.SIZE);
+                return;
+            }
+        }
+    }
+
+    private static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private V value;
+        private byte queue;
+        private byte frequency;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.queue = SMALL;
+        }
+    }
+}
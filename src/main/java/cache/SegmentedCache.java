@@ -0,0 +1,224 @@
+package cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Thread-safe cache which splits the key space into independently locked segments.
+ * Every segment is a separate instance of the same eviction policy holding its share
+ * of the total capacity, so threads working on different segments never contend.
+ */
+public class SegmentedCache<K, V> implements Cache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final SingleFlight<K, V> singleFlight;
+    private final int shift;
+
+    private volatile StatsCounter statsCounter;
+    private CacheStats baseline;
+
+    @SuppressWarnings("unchecked")
+    public SegmentedCache(int capacity, int concurrencyLevel, IntFunction<Cache<K, V>> segmentFactory) {
+        if (capacity < 1 || concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Capacity and concurrency level must be positive");
+        }
+        int segmentCount = Integer.highestOneBit(Math.min(capacity, concurrencyLevel));
+        this.shift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segments = new Segment[segmentCount];
+        this.singleFlight = new SingleFlight<>();
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentCapacity = capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(segmentFactory.apply(segmentCapacity));
+        }
+        setStatsCounter(new ConcurrentStatsCounter());
+    }
+
+    public static <K, V> SegmentedCache<K, V> fifo(int capacity, int concurrencyLevel) {
+        return new SegmentedCache<>(capacity, concurrencyLevel, FIFOCache::new);
+    }
+
+    public static <K, V> SegmentedCache<K, V> lru(int capacity, int concurrencyLevel) {
+        return new SegmentedCache<>(capacity, concurrencyLevel, LRUCache::new);
+    }
+
+    public static <K, V> SegmentedCache<K, V> lfru(int capacity, int concurrencyLevel) {
+        return new SegmentedCache<>(capacity, concurrencyLevel, LFRUCache::new);
+    }
+
+    public static <K, V> SegmentedCache<K, V> rr(int capacity, int concurrencyLevel) {
+        return new SegmentedCache<>(capacity, concurrencyLevel, RRCache::new);
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.cache.cache(key, value);
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.cache.getIfPresent(key);
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Every segment notifies the listener under its own lock, so it may be called concurrently.
+     */
+    @Override
+    public void setRemovalListener(RemovalListener<? super K, ? super V> removalListener) {
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.cache.setRemovalListener(removalListener);
+            }
+        }
+    }
+
+    /**
+     * Visits one segment after another, each in its own eviction order.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.cache.forEachEntry(visitor);
+            }
+        }
+    }
+
+    /**
+     * Groups the keys by segment, so every segment is locked once for the whole batch.
+     */
+    @Override
+    public Map<K, V> loadAll(Collection<? extends K> keys) {
+        List<List<K>> keysBySegment = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            keysBySegment.add(new ArrayList<>());
+        }
+        for (K key : keys) {
+            keysBySegment.get(segmentIndex(key)).add(key);
+        }
+
+        Map<K, V> result = new HashMap<>();
+        for (int i = 0; i < segments.length; i++) {
+            if (!keysBySegment.get(i).isEmpty()) {
+                var segment = segments[i];
+                synchronized (segment) {
+                    result.putAll(segment.cache.loadAll(keysBySegment.get(i)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups the entries by segment, so every segment is locked and evicts once for the whole batch.
+     */
+    @Override
+    public void cacheAll(Map<? extends K, ? extends V> entries) {
+        List<Map<K, V>> entriesBySegment = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            entriesBySegment.add(new LinkedHashMap<>());
+        }
+        entries.forEach((key, value) -> entriesBySegment.get(segmentIndex(key)).put(key, value));
+
+        for (int i = 0; i < segments.length; i++) {
+            if (!entriesBySegment.get(i).isEmpty()) {
+                var segment = segments[i];
+                synchronized (segment) {
+                    segment.cache.cacheAll(entriesBySegment.get(i));
+                }
+            }
+        }
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.load(key, loader, this, this::peek, statsCounter);
+    }
+
+    /**
+     * All segments share one recorder, so reading the statistics does not lock any segment.
+     */
+    @Override
+    public synchronized void setStatsCounter(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+        this.baseline = CacheStats.empty();
+        for (var segment : segments) {
+            synchronized (segment) {
+                segment.cache.setStatsCounter(statsCounter);
+            }
+        }
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return statsCounter.snapshot().minus(baseline);
+    }
+
+    @Override
+    public synchronized void clearStats() {
+        baseline = statsCounter.snapshot();
+    }
+
+    /**
+     * Looks the key up with its segment recording into a disabled recorder. The recorder is
+     * set before the segments are updated, so a peek restores the one being installed.
+     */
+    private V peek(K key) {
+        var segment = segmentFor(key);
+        synchronized (segment) {
+            segment.cache.setStatsCounter(StatsCounter.disabled());
+            try {
+                return segment.cache.getIfPresent(key);
+            } finally {
+                segment.cache.setStatsCounter(statsCounter);
+            }
+        }
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Segments are selected by the high bits of the scrambled hash, segment maps index
+     * their buckets by the low bits, so keys of one segment still spread over all buckets.
+     */
+    private Segment<K, V> segmentFor(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private int segmentIndex(K key) {
+        if (segments.length == 1) {
+            return 0;
+        }
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash >>> shift;
+    }
+
+    private static final class Segment<K, V> {
+        private final Cache<K, V> cache;
+
+        private Segment(Cache<K, V> cache) {
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts keys or values to and from the bytes stored by {@link OffHeapCache}.
+ */
+public interface Serializer<T> {
+
+    /**
+     * @return number of bytes {@link #write} will produce for the value
+     */
+    int size(T value);
+
+    /**
+     * Writes the value at the buffer's position, advancing it by {@link #size} bytes.
+     */
+    void write(T value, ByteBuffer target);
+
+    /**
+     * Reads a value of the given length from the buffer's position.
+     */
+    T read(ByteBuffer source, int length);
+}
@@ -0,0 +1,120 @@
+package cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class Serializers {
+
+    private static final Serializer<Integer> INTEGER = new Serializer<>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, ByteBuffer target) {
+            target.putInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer source, int length) {
+            return source.getInt();
+        }
+    };
+
+    private static final Serializer<Long> LONG = new Serializer<>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, ByteBuffer target) {
+            target.putLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer source, int length) {
+            return source.getLong();
+        }
+    };
+
+    /**
+     * Latin-1 strings are stored one byte per char without encoding, everything else
+     * as UTF-8. The first byte tells which encoding was used.
+     */
+    private static final Serializer<String> STRING = new Serializer<>() {
+        @Override
+        public int size(String value) {
+            return 1 + (isLatin1(value) ? value.length() : value.getBytes(StandardCharsets.UTF_8).length);
+        }
+
+        @Override
+        public void write(String value, ByteBuffer target) {
+            if (isLatin1(value)) {
+                target.put((byte) 0);
+                for (int i = 0; i < value.length(); i++) {
+                    target.put((byte) value.charAt(i));
+                }
+            } else {
+                target.put((byte) 1);
+                target.put(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        public String read(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length - 1];
+            boolean latin1 = source.get() == 0;
+            source.get(bytes);
+            return new String(bytes, latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final Serializer<byte[]> BYTES = new Serializer<>() {
+        @Override
+        public int size(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void write(byte[] value, ByteBuffer target) {
+            target.put(value);
+        }
+
+        @Override
+        public byte[] read(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            return bytes;
+        }
+    };
+
+    private Serializers() {
+    }
+
+    public static Serializer<Integer> integer() {
+        return INTEGER;
+    }
+
+    public static Serializer<Long> longs() {
+        return LONG;
+    }
+
+    public static Serializer<String> string() {
+        return STRING;
+    }
+
+    public static Serializer<byte[]> bytes() {
+        return BYTES;
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
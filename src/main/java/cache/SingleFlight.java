@@ -0,0 +1,86 @@
+package cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Deduplicates concurrent loads of the same key. The first caller runs the load,
+ * callers arriving while it is in flight wait for its result or its failure.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight;
+    private final AtomicLong completedLoads;
+
+    SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.completedLoads = new AtomicLong();
+    }
+
+    /**
+     * Returns the cached value, or loads it with the loader, caches it and returns it,
+     * or joins a load of the same key already in flight. Only the caller running the
+     * load records it. A load of the key may complete between the caller's miss and its
+     * turn to load, so the cache is looked up again with {@code peek} when any load completed
+     * meanwhile. The peek must not record statistics, the request was already recorded.
+     */
+    V load(K key,
+        Function<? super K, ? extends V> loader,
+        Cache<K, V> cache,
+        Function<? super K, ? extends V> peek,
+        StatsCounter statsCounter) {
+        long completedBefore = completedLoads.get();
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var future = new CompletableFuture<V>();
+        var running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return join(running);
+        }
+
+        long start = System.nanoTime();
+        try {
+            V value = completedLoads.get() != completedBefore ? peek.apply(key) : null;
+            if (value != null) {
+                future.complete(value);
+                return value;
+            }
+            try {
+                value = loader.apply(key);
+            } catch (RuntimeException | Error e) {
+                statsCounter.recordLoadFailure(System.nanoTime() - start);
+                throw e;
+            }
+            statsCounter.recordLoadSuccess(System.nanoTime() - start);
+            cache.cache(key, value);
+            completedLoads.incrementAndGet();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
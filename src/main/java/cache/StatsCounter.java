@@ -0,0 +1,27 @@
+package cache;
+
+/**
+ * Records the statistics of a cache. Implementations must be thread-safe, one recorder
+ * may be shared by all segments of a cache.
+ */
+public interface StatsCounter {
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordLoadSuccess(long loadTime);
+
+    void recordLoadFailure(long loadTime);
+
+    void recordRemoval(RemovalCause cause);
+
+    CacheStats snapshot();
+
+    /**
+     * Recorder ignoring everything, for caches whose statistics are not needed.
+     */
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+}
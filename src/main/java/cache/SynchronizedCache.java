@@ -0,0 +1,100 @@
+package cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Makes any cache thread-safe by serializing every call on a single monitor.
+ * Baseline for the concurrent implementations. The delegate records its statistics
+ * into the wrapper's recorder, which also records the loads.
+ */
+public class SynchronizedCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V> delegate;
+    private final SingleFlight<K, V> singleFlight;
+
+    private volatile StatsCounter statsCounter;
+    private CacheStats baseline;
+
+    public SynchronizedCache(Cache<K, V> delegate) {
+        this.delegate = delegate;
+        this.singleFlight = new SingleFlight<>();
+        setStatsCounter(new ConcurrentStatsCounter());
+    }
+
+    @Override
+    public synchronized void cache(K key, V value) {
+        delegate.cache(key, value);
+    }
+
+    @Override
+    public synchronized V getIfPresent(K key) {
+        return delegate.getIfPresent(key);
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        delegate.invalidate(key);
+    }
+
+    @Override
+    public synchronized void setRemovalListener(RemovalListener<? super K, ? super V> removalListener) {
+        delegate.setRemovalListener(removalListener);
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        delegate.forEachEntry(visitor);
+    }
+
+    @Override
+    public synchronized Map<K, V> loadAll(Collection<? extends K> keys) {
+        return delegate.loadAll(keys);
+    }
+
+    @Override
+    public synchronized void cacheAll(Map<? extends K, ? extends V> entries) {
+        delegate.cacheAll(entries);
+    }
+
+    /**
+     * Loads outside of the monitor, so a slow load blocks only callers of the same key.
+     */
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.load(key, loader, this, this::peek, statsCounter);
+    }
+
+    /**
+     * The wrapper keeps its own baseline, so {@link #peek} can swap the delegate's recorder.
+     */
+    @Override
+    public synchronized void setStatsCounter(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+        this.baseline = CacheStats.empty();
+        delegate.setStatsCounter(statsCounter);
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return statsCounter.snapshot().minus(baseline);
+    }
+
+    @Override
+    public synchronized void clearStats() {
+        baseline = statsCounter.snapshot();
+    }
+
+    /**
+     * Looks the key up with the delegate recording into a disabled recorder.
+     */
+    private synchronized V peek(K key) {
+        delegate.setStatsCounter(StatsCounter.disabled());
+        try {
+            return delegate.getIfPresent(key);
+        } finally {
+            delegate.setStatsCounter(statsCounter);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package cache;
+
+/**
+ * Source of nanosecond time for expiration and refresh, injectable so tests can move time by hand.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    long read();
+
+    static Ticker system() {
+        return System::nanoTime;
+    }
+}
@@ -0,0 +1,126 @@
+package cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Two-tier cache. Entries evicted from the first, in-memory tier are demoted to the second one,
+ * typically a {@link MappedLogCache}, instead of being dropped, and promoted back on a hit there,
+ * so a key is in at most one tier. Lookups fall through the first tier, then the second, then
+ * the loader of {@link #get}.
+ * <p>
+ * A hit in either tier counts as a hit of this cache; {@link #firstTierStats()} and
+ * {@link #secondTierStats()} tell them apart. The removal listener is notified when an entry
+ * leaves both tiers, demotions and promotions are not removals. Not thread-safe.
+ */
+public class TieredCache<K, V> extends AbstractCache<K, V> implements Closeable {
+
+    private final Cache<K, V> firstTier;
+    private final Cache<K, V> secondTier;
+
+    private boolean promoting;
+    private boolean replacing;
+
+    public TieredCache(Cache<K, V> firstTier, Cache<K, V> secondTier) {
+        this.firstTier = firstTier;
+        this.secondTier = secondTier;
+        firstTier.setRemovalListener(this::onFirstTierRemoval);
+        secondTier.setRemovalListener(this::onSecondTierRemoval);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        V cached = firstTier.getIfPresent(key);
+        if (cached != null) {
+            recordHit();
+            return cached;
+        }
+        cached = secondTier.getIfPresent(key);
+        if (cached != null) {
+            recordHit();
+            promote(key, cached);
+            return cached;
+        }
+        recordMiss();
+        return null;
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        replacing = true;
+        try {
+            secondTier.invalidate(key);
+        } finally {
+            replacing = false;
+        }
+        firstTier.cache(key, value);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        firstTier.invalidate(key);
+        secondTier.invalidate(key);
+    }
+
+    /**
+     * Visits the second tier before the first one, as its entries were evicted from the first.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        secondTier.forEachEntry(visitor);
+        firstTier.forEachEntry(visitor);
+    }
+
+    @Override
+    public void clearStats() {
+        super.clearStats();
+        firstTier.clearStats();
+        secondTier.clearStats();
+    }
+
+    public CacheStats firstTierStats() {
+        return firstTier.stats();
+    }
+
+    public CacheStats secondTierStats() {
+        return secondTier.stats();
+    }
+
+    /**
+     * Closes the tiers which hold resources, like the files of a {@link MappedLogCache}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (firstTier instanceof Closeable) {
+            ((Closeable) firstTier).close();
+        }
+        if (secondTier instanceof Closeable) {
+            ((Closeable) secondTier).close();
+        }
+    }
+
+    private void promote(K key, V value) {
+        promoting = true;
+        try {
+            secondTier.invalidate(key);
+        } finally {
+            promoting = false;
+        }
+        firstTier.cache(key, value);
+    }
+
+    private void onFirstTierRemoval(K key, V value, RemovalCause cause) {
+        if (cause == RemovalCause.SIZE) {
+            secondTier.cache(key, value);
+        } else {
+            notifyRemoval(key, value, cause);
+        }
+    }
+
+    private void onSecondTierRemoval(K key, V value, RemovalCause cause) {
+        if (promoting) {
+            return;
+        }
+        notifyRemoval(key, value, replacing ? RemovalCause.REPLACED : cause);
+    }
+}
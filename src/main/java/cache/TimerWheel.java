@@ -0,0 +1,107 @@
+package cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel scheduling entries by expiration time in O(1). Every level is a ring
+ * of buckets spanning a power of two nanoseconds (about a second, a minute, an hour and a day),
+ * followed by a single overflow bucket. Advancing the time drains only the buckets the clock
+ * passed, expiring due entries and cascading the others down into finer buckets.
+ */
+final class TimerWheel<K, V> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+        1L << 30, // 1.07s
+        1L << 36, // 1.14m
+        1L << 42, // 1.22h
+        1L << 47, // 1.63d
+        1L << 49, // 6.5d
+    };
+
+    private final LinkedDeque<ExpiringCache.Node<K, V>>[][] wheel;
+    private final Consumer<ExpiringCache.Node<K, V>> onExpired;
+
+    private long nanos;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(Consumer<ExpiringCache.Node<K, V>> onExpired) {
+        this.onExpired = onExpired;
+        this.wheel = new LinkedDeque[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new LinkedDeque[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = new LinkedDeque<>();
+            }
+        }
+    }
+
+    /**
+     * Moves the clock to the time, handing every entry due by then to the expiration callback.
+     */
+    void advance(long time) {
+        long previous = nanos;
+        if (time <= previous) {
+            return;
+        }
+        nanos = time;
+        for (int level = 0; level < wheel.length; level++) {
+            int shift = Long.numberOfTrailingZeros(SPANS[level]);
+            long previousTicks = previous >>> shift;
+            long currentTicks = time >>> shift;
+            if (currentTicks == previousTicks) {
+                break;
+            }
+            expire(level, previousTicks, currentTicks - previousTicks);
+        }
+    }
+
+    void schedule(ExpiringCache.Node<K, V> node) {
+        var bucket = findBucket(node.expireAt);
+        bucket.addLast(node);
+        node.bucket = bucket;
+    }
+
+    void deschedule(ExpiringCache.Node<K, V> node) {
+        if (node.bucket != null) {
+            node.bucket.remove(node);
+            node.bucket = null;
+        }
+    }
+
+    /**
+     * Drains the buckets the clock passed since the previous ticks, including the current one.
+     * Entries not due yet are scheduled again, possibly into the bucket being drained, so only
+     * the entries present before draining are visited.
+     */
+    private void expire(int level, long previousTicks, long delta) {
+        var buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            var bucket = buckets[i & mask];
+            ExpiringCache.Node<K, V> node;
+            for (int n = bucket.size(); n > 0 && (node = bucket.pollFirst()) != null; n--) {
+                node.bucket = null;
+                if (node.expireAt <= nanos) {
+                    onExpired.accept(node);
+                } else {
+                    schedule(node);
+                }
+            }
+        }
+    }
+
+    private LinkedDeque<ExpiringCache.Node<K, V>> findBucket(long time) {
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int level = 0; level < last; level++) {
+            if (duration < SPANS[level + 1]) {
+                long ticks = time >>> Long.numberOfTrailingZeros(SPANS[level]);
+                return wheel[level][(int) (ticks & (wheel[level].length - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+}
@@ -0,0 +1,209 @@
+package cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * W-TinyLFU cache. New entries enter a small LRU admission window; entries leaving the window
+ * compete with the segmented LRU main region's victim and are only admitted if the
+ * {@link FrequencySketch} estimates them as more popular. The main region is split into
+ * a probation segment and a protected segment for entries hit at least twice.
+ * <p>
+ * Regions are bounded by weight. A candidate heavier than the main region's victim keeps
+ * competing with the following victims until it fits, and is rejected on its first loss.
+ */
+public class WTinyLFUCache<K, V> extends AbstractCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final Map<K, Node<K, V>> cache;
+    private final LinkedDeque<Node<K, V>> window;
+    private final LinkedDeque<Node<K, V>> probation;
+    private final LinkedDeque<Node<K, V>> protectedSegment;
+    private final FrequencySketch sketch;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maxWindow;
+    private final long maxMain;
+    private final long maxProtected;
+
+    private long windowWeight;
+    private long mainWeight;
+    private long protectedWeight;
+
+    public WTinyLFUCache(int capacity) {
+        this(capacity, Weighers.singleton(), capacity);
+    }
+
+    /**
+     * @param expectedEntries number of entries expected to fit, sizing the frequency sketch
+     */
+    public WTinyLFUCache(long maxWeight, Weigher<? super K, ? super V> weigher, int expectedEntries) {
+        this.weigher = weigher;
+        this.maxWindow = Math.max(1, maxWeight / 100);
+        this.maxMain = maxWeight - maxWindow;
+        this.maxProtected = maxMain * 4 / 5;
+        this.cache = new HashMap<>();
+        this.window = new LinkedDeque<>();
+        this.probation = new LinkedDeque<>();
+        this.protectedSegment = new LinkedDeque<>();
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    @Override
+    public void cache(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        var node = cache.get(key);
+        if (node != null) {
+            var old = node.value;
+            addWeight(node, weight - node.weight);
+            node.value = value;
+            node.weight = weight;
+            onHit(node);
+            notifyRemoval(key, old, RemovalCause.REPLACED);
+            while (mainWeight > maxMain) {
+                var victim = probation.isEmpty() ? protectedSegment.peekFirst() : probation.peekFirst();
+                unlink(victim);
+                evict(victim);
+            }
+        } else {
+            node = new Node<>(key, value, weight);
+            cache.put(key, node);
+            window.addLast(node);
+            windowWeight += weight;
+        }
+
+        while (windowWeight > maxWindow) {
+            var candidate = window.pollFirst();
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        sketch.increment(key);
+        var node = cache.get(key);
+        if (node == null) {
+            recordMiss();
+            return null;
+        }
+        recordHit();
+        onHit(node);
+        return node.value;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        var node = cache.remove(key);
+        if (node != null) {
+            unlink(node);
+            notifyRemoval(key, node.value, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Visits probation, protected and window entries, each from the least recently used,
+     * with their frequency estimated by the sketch.
+     */
+    @Override
+    public void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        for (var queue : List.of(probation, protectedSegment, window)) {
+            for (var node = queue.peekFirst(); node != null; node = node.next) {
+                visitor.visit(node.key, node.value, sketch.frequency(node.key));
+            }
+        }
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > maxProtected) {
+                    var demoted = protectedSegment.pollFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            default:
+                protectedSegment.moveToLast(node);
+        }
+    }
+
+    /**
+     * Moves the candidate evicted from the window into the main region, evicting
+     * either the main region's victims or the candidate itself when the region is full.
+     */
+    private void admit(Node<K, V> candidate) {
+        candidate.queue = PROBATION;
+        while (mainWeight + candidate.weight > maxMain) {
+            var victim = probation.isEmpty() ? protectedSegment.peekFirst() : probation.peekFirst();
+            if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                evict(candidate);
+                return;
+            }
+            unlink(victim);
+            evict(victim);
+        }
+        probation.addLast(candidate);
+        mainWeight += candidate.weight;
+    }
+
+    private void evict(Node<K, V> node) {
+        cache.remove(node.key);
+        notifyRemoval(node.key, node.value, RemovalCause.SIZE);
+    }
+
+    private void unlink(Node<K, V> node) {
+        queueOf(node).remove(node);
+        addWeight(node, -node.weight);
+    }
+
+    private void addWeight(Node<K, V> node, long delta) {
+        switch (node.queue) {
+            case WINDOW:
+                windowWeight += delta;
+                break;
+            case PROBATION:
+                mainWeight += delta;
+                break;
+            default:
+                mainWeight += delta;
+                protectedWeight += delta;
+        }
+    }
+
+    private LinkedDeque<Node<K, V>> queueOf(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedSegment;
+        }
+    }
+
+    private static final class Node<K, V> extends Linked<Node<K, V>> {
+        private final K key;
+        private V value;
+        private int weight;
+        private int queue;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.queue = WINDOW;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package cache;
+
+/**
+ * Weight of an entry counted against a cache's maximum weight, typically its estimated size in bytes.
+ * Must return the same weight for the same entry every time it is asked.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+}
@@ -0,0 +1,71 @@
+package cache;
+
+/**
+ * Common {@link Weigher}s.
+ */
+public final class Weighers {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ENTRY_OVERHEAD = 48;
+    private static final int UNKNOWN_OBJECT = 64;
+
+    private static final Weigher<Object, Object> SINGLETON = (key, value) -> 1;
+
+    private static final Weigher<Object, Object> ESTIMATED = (key, value) ->
+        (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + sizeOf(key) + sizeOf(value));
+
+    private Weighers() {
+    }
+
+    /**
+     * Every entry weighs 1, making the maximum weight an entry count.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Weigher<K, V> singleton() {
+        return (Weigher<K, V>) SINGLETON;
+    }
+
+    /**
+     * Estimated heap bytes of the key, the value and the cache's own per-entry node.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Weigher<K, V> estimated() {
+        return (Weigher<K, V>) ESTIMATED;
+    }
+
+    /**
+     * Shallow size estimate on a 64-bit JVM with compressed references. Strings are assumed
+     * to be Latin-1, stored one byte per char; objects of unknown types count as a fixed size.
+     */
+    public static long sizeOf(Object object) {
+        if (object == null) {
+            return 0;
+        }
+        if (object instanceof String) {
+            return align(OBJECT_HEADER + REFERENCE + 2 * Integer.BYTES) + align(ARRAY_HEADER + ((String) object).length());
+        }
+        if (object instanceof byte[]) {
+            return align(ARRAY_HEADER + ((byte[]) object).length);
+        }
+        if (object instanceof int[]) {
+            return align(ARRAY_HEADER + (long) Integer.BYTES * ((int[]) object).length);
+        }
+        if (object instanceof long[]) {
+            return align(ARRAY_HEADER + (long) Long.BYTES * ((long[]) object).length);
+        }
+        if (object instanceof Long || object instanceof Double) {
+            return align(OBJECT_HEADER + Long.BYTES);
+        }
+        if (object instanceof Integer || object instanceof Float || object instanceof Short
+            || object instanceof Byte || object instanceof Character || object instanceof Boolean) {
+            return align(OBJECT_HEADER + Integer.BYTES);
+        }
+        return UNKNOWN_OBJECT;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
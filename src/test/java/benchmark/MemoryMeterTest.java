@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoryMeterTest {
+
+    private static volatile byte[] sink;
+
+    @Test
+    void shouldNotCountCollectionsForcedBySystemGc() {
+        var memory = MemoryMeter.start();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        memory.stop();
+
+        assertThat(memory.gcCount()).isZero();
+        assertThat(memory.gcTime()).isZero();
+    }
+
+    @Test
+    void shouldCountCollectionsCausedByAllocation() {
+        var memory = MemoryMeter.start();
+        for (int i = 0; i < 1 << 22; i++) {
+            sink = new byte[1024];
+        }
+        memory.stop();
+
+        assertThat(memory.gcCount()).isPositive();
+        assertThat(memory.heapUsed()).isPositive();
+    }
+
+    @Test
+    void shouldCountDirectBuffersAsOffHeap() {
+        var before = MemoryMeter.start().stop();
+        var buffer = ByteBuffer.allocateDirect(1 << 20);
+        var after = MemoryMeter.start().stop();
+
+        assertThat(after.offHeapUsed() - before.offHeapUsed()).isGreaterThanOrEqualTo(buffer.capacity());
+    }
+}
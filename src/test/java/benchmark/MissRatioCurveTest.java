@@ -0,0 +1,79 @@
+package benchmark;
+
+import cache.LRUCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class MissRatioCurveTest {
+
+    private static final int KEYS = 20000;
+
+    @Test
+    void shouldMatchLRUMissRatioOfEveryCapacity() {
+        var keys = skewedKeys(50000, 2000);
+        var curve = new MissRatioCurve.Builder().maxCapacity(2000).build();
+        for (long key : keys) {
+            curve.record(key);
+        }
+
+        for (int capacity : new int[] {1, 10, 100, 500, 1999}) {
+            var cache = new LRUCache<Long, Long>(capacity);
+            for (long key : keys) {
+                if (cache.load(key).isEmpty()) {
+                    cache.cache(key, key);
+                }
+            }
+            assertThat(curve.missRatio(capacity)).isCloseTo((double) cache.missCount() / keys.length, within(1e-9));
+        }
+        assertThat(curve.missRatios(500)).containsOnlyKeys(500, 1000, 1500, 2000);
+    }
+
+    @Test
+    void shouldApproximateCurveFromSampledKeys() {
+        var keys = skewedKeys(500000, KEYS);
+        var exact = new MissRatioCurve.Builder().maxCapacity(KEYS).build();
+        var sampled = new MissRatioCurve.Builder().maxCapacity(KEYS).samplingRate(0.1).build();
+        for (long key : keys) {
+            exact.record(key);
+            sampled.record(key);
+        }
+
+        assertThat(sampled.sampledRequests()).isBetween(keys.length / 20L, keys.length / 5L);
+        for (int capacity = 1000; capacity <= KEYS; capacity += 1000) {
+            assertThat(sampled.missRatio(capacity)).isCloseTo(exact.missRatio(capacity), within(0.05));
+        }
+    }
+
+    @Test
+    void shouldTrackBoundedNumberOfKeys() {
+        var keys = skewedKeys(500000, KEYS);
+        var exact = new MissRatioCurve.Builder().maxCapacity(KEYS).build();
+        var bounded = new MissRatioCurve.Builder().maxCapacity(KEYS).maxSamples(2000).build();
+        for (long key : keys) {
+            exact.record(key);
+            bounded.record(key);
+            assertThat(bounded.trackedKeys()).isLessThanOrEqualTo(2000);
+        }
+
+        assertThat(bounded.samplingRate()).isLessThan(0.2);
+        for (int capacity = 1000; capacity <= KEYS; capacity += 1000) {
+            assertThat(bounded.missRatio(capacity)).isCloseTo(exact.missRatio(capacity), within(0.05));
+        }
+    }
+
+    /**
+     * Keys drawn from a power law, so the curve falls steeply first and then flattens.
+     */
+    private static long[] skewedKeys(int requests, int keySpace) {
+        var rnd = new Random(7);
+        var keys = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            keys[i] = (long) Math.floor(Math.pow(rnd.nextDouble(), 3) * keySpace);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ThroughputBenchmarkTest {
+
+    @Test
+    void shouldSampleLatenciesOfEveryThread() {
+        var benchmark = new ThroughputBenchmark.Builder()
+            .threads(2)
+            .testOperations(1000)
+            .latencySampleInterval(10)
+            .operation((thread, i) -> {
+                if (thread == 1) {
+                    LockSupport.parkNanos(100_000);
+                }
+            })
+            .build();
+
+        benchmark.run();
+
+        assertThat(benchmark.totalOperations()).isEqualTo(2000);
+        assertThat(benchmark.latencyPercentile(1, 50)).isGreaterThanOrEqualTo(Duration.ofNanos(100_000));
+        assertThat(benchmark.latencyPercentile(0, 99)).isLessThan(benchmark.latencyPercentile(1, 50));
+        assertThat(benchmark.latencyPercentile(50)).isLessThanOrEqualTo(benchmark.latencyPercentile(99.9));
+        assertThat(benchmark.latencyPercentile(100)).isEqualTo(benchmark.latencyPercentile(1, 100));
+    }
+
+    @Test
+    void shouldCountBlockingOnSharedMonitor() {
+        var monitor = new Object();
+        var benchmark = new ThroughputBenchmark.Builder()
+            .threads(4)
+            .testOperations(200)
+            .measureContention(true)
+            .operation((thread, i) -> {
+                synchronized (monitor) {
+                    LockSupport.parkNanos(10_000);
+                }
+            })
+            .build();
+
+        benchmark.run();
+
+        assertThat(benchmark.blockedCount()).isPositive();
+        assertThat(benchmark.waitedCount()).isGreaterThanOrEqualTo(800);
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldFailWhenOperationThrowsDuringWarmUp() {
+        var benchmark = new ThroughputBenchmark.Builder()
+            .threads(3)
+            .warmUpOperations(100)
+            .testOperations(100)
+            .operation((thread, i) -> {
+                if (thread == 1 && i == 50) {
+                    throw new IllegalStateException("warm up failed");
+                }
+            })
+            .build();
+
+        assertThatThrownBy(benchmark::run)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("warm up failed");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldFailWhenOperationThrowsWhileMeasured() {
+        var threadMXBean = ManagementFactory.getThreadMXBean();
+        boolean monitoring = threadMXBean.isThreadContentionMonitoringEnabled();
+        var benchmark = new ThroughputBenchmark.Builder()
+            .threads(2)
+            .testOperations(1000)
+            .measureContention(true)
+            .operation((thread, i) -> {
+                if (thread == 0 && i == 500) {
+                    throw new AssertionError("measured operation failed");
+                }
+            })
+            .build();
+
+        assertThatThrownBy(benchmark::run)
+            .isInstanceOf(AssertionError.class)
+            .hasMessage("measured operation failed");
+        assertThat(threadMXBean.isThreadContentionMonitoringEnabled()).isEqualTo(monitoring);
+    }
+}
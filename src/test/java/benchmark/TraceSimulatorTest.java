@@ -0,0 +1,76 @@
+package benchmark;
+
+import cache.FIFOCache;
+import cache.LRUCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceSimulatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadKeysOfTextTrace() throws IOException {
+        var file = directory.resolve("trace.txt");
+        Files.write(file, List.of("# key timestamp", "1 1000", "", "  -42\t1001", "user:7", "user:7"));
+
+        assertThat(readAll(Trace.text(file))).hasSize(4)
+            .startsWith(1L, -42L)
+            .satisfies(keys -> assertThat(keys.get(2)).isEqualTo(keys.get(3)));
+    }
+
+    @Test
+    void shouldReadKeysOfBinaryTraceAcrossBuffers() throws IOException {
+        var file = directory.resolve("trace.bin");
+        List<Long> written = new ArrayList<>();
+        try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (long key = 0; key < 20000; key++) {
+                out.writeLong(key * 31);
+                written.add(key * 31);
+            }
+        }
+
+        assertThat(readAll(Trace.binary(file))).isEqualTo(written);
+    }
+
+    @Test
+    void shouldSimulateEveryPolicyAndCapacity() throws IOException {
+        var file = directory.resolve("trace.txt");
+        Files.write(file, List.of("1", "2", "1", "3", "1", "2"));
+
+        var results = new TraceSimulator.Builder()
+            .trace(Trace.text(file))
+            .policy("LRU", LRUCache::new)
+            .policy("FIFO", FIFOCache::new)
+            .capacities(2, 3)
+            .threads(2)
+            .build()
+            .run();
+
+        assertThat(results).extracting(TraceSimulator.Result::policy).containsExactly("LRU", "LRU", "FIFO", "FIFO");
+        assertThat(results).extracting(TraceSimulator.Result::capacity).containsExactly(2, 3, 2, 3);
+        assertThat(results).extracting(TraceSimulator.Result::requests).containsOnly(6L);
+        assertThat(results).extracting(TraceSimulator.Result::hits).containsExactly(2L, 3L, 1L, 3L);
+        assertThat(results).extracting(TraceSimulator.Result::evictions).containsExactly(2L, 0L, 3L, 0L);
+    }
+
+    private static List<Long> readAll(Trace trace) {
+        List<Long> keys = new ArrayList<>();
+        try (var reader = trace.open()) {
+            while (reader.hasNext()) {
+                keys.add(reader.next());
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,146 @@
+package benchmark.workload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.EnumMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class WorkloadsTest {
+
+    private static final int ITEMS = 1000;
+    private static final int REQUESTS = 200000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"uniform", "zipfian", "zipfian-1.5", "scrambled-zipfian", "hotspot", "latest", "scan-zipfian"})
+    void shouldRepeatKeysInRangeForSameSeed(String name) {
+        var first = Workloads.keys(name, ITEMS, 42);
+        var second = Workloads.keys(name, ITEMS, 42);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            int key = first.nextKey();
+            assertThat(key).isBetween(0, ITEMS - 1);
+            assertThat(second.nextKey()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void shouldRequestKeysWithZipfianFrequencies() {
+        for (double exponent : new double[]{0.5, 0.99, 1.0, 2.0}) {
+            var counts = counts(new ZipfianGenerator(ITEMS, exponent, 7));
+            double harmonic = 0.0;
+            for (int rank = 1; rank <= ITEMS; rank++) {
+                harmonic += Math.pow(rank, -exponent);
+            }
+            for (int key : new int[]{0, 1, 9, 99}) {
+                double expected = Math.pow(key + 1, -exponent) / harmonic;
+                assertThat((double) counts[key] / REQUESTS).isCloseTo(expected, within(0.01 + expected * 0.05));
+            }
+        }
+    }
+
+    @Test
+    void shouldSpreadPopularKeysWhenScrambled() {
+        var counts = counts(new ScrambledZipfianGenerator(ITEMS, 0.99, 7));
+        int hottest = 0;
+        for (int key = 1; key < ITEMS; key++) {
+            if (counts[key] > counts[hottest]) {
+                hottest = key;
+            }
+        }
+
+        assertThat(hottest).isNotZero();
+        assertThat((double) counts[hottest] / REQUESTS).isGreaterThan(0.1);
+    }
+
+    @Test
+    void shouldSendMostRequestsToHotspot() {
+        var counts = counts(new HotspotGenerator(ITEMS, 0.2, 0.8, 7));
+        long hot = 0;
+        for (int key = 0; key < ITEMS / 5; key++) {
+            hot += counts[key];
+        }
+
+        assertThat((double) hot / REQUESTS).isCloseTo(0.8, within(0.01));
+    }
+
+    @Test
+    void shouldFavourLatestInsert() {
+        var latest = new LatestGenerator(ITEMS, 0.99, 7);
+        int inserted = latest.insert();
+        var counts = counts(latest);
+
+        assertThat(inserted).isZero();
+        assertThat(counts[0]).isGreaterThan(counts[ITEMS - 1]).isGreaterThan(counts[1] * 10);
+    }
+
+    @Test
+    void shouldScanEveryKeyOncePerPass() {
+        var generator = new ScanInterleavedGenerator(new UniformGenerator(ITEMS, 7), 1.0, 7);
+
+        for (int i = 0; i < 2 * ITEMS; i++) {
+            assertThat(generator.nextKey()).isEqualTo(i % ITEMS);
+        }
+    }
+
+    @Test
+    void shouldReplayPrecomputedKeysInLoop() {
+        var expected = new ZipfianGenerator(ITEMS, 0.99, 7);
+        var precomputed = new PrecomputedKeys(new ZipfianGenerator(ITEMS, 0.99, 7), 100);
+        var keys = new int[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = precomputed.nextKey();
+            assertThat(keys[i]).isEqualTo(expected.nextKey());
+        }
+
+        assertThat(precomputed.nextKey()).isEqualTo(keys[0]);
+        assertThat(precomputed.items()).isEqualTo(ITEMS);
+    }
+
+    @Test
+    void shouldMixYcsbOperations() {
+        assertThat(operationShares(YcsbWorkload.Mix.A)).containsEntry(YcsbWorkload.Operation.READ, 0.5)
+            .containsEntry(YcsbWorkload.Operation.UPDATE, 0.5);
+        assertThat(operationShares(YcsbWorkload.Mix.C)).containsOnlyKeys(YcsbWorkload.Operation.READ);
+        assertThat(operationShares(YcsbWorkload.Mix.D)).containsEntry(YcsbWorkload.Operation.INSERT, 0.05);
+        assertThat(operationShares(YcsbWorkload.Mix.E)).containsEntry(YcsbWorkload.Operation.SCAN, 0.95)
+            .containsEntry(YcsbWorkload.Operation.INSERT, 0.05);
+        assertThat(operationShares(YcsbWorkload.Mix.F)).containsEntry(YcsbWorkload.Operation.READ_MODIFY_WRITE, 0.5);
+    }
+
+    @Test
+    void shouldDescribeScansOfBoundedLength() {
+        var workload = new YcsbWorkload(YcsbWorkload.Mix.E, ITEMS, 7);
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(workload.next()).isSameAs(workload);
+            assertThat(workload.scanLength()).isBetween(1, YcsbWorkload.MAX_SCAN_LENGTH);
+            assertThat(workload.boxedKey(workload.scanLength() - 1)).isBetween(0, ITEMS - 1);
+            assertThat(workload.boxedKey()).isEqualTo(workload.key());
+        }
+    }
+
+    private static int[] counts(KeyGenerator generator) {
+        var counts = new int[generator.items()];
+        for (int i = 0; i < REQUESTS; i++) {
+            counts[generator.nextKey()]++;
+        }
+        return counts;
+    }
+
+    /**
+     * @return share of each operation, rounded to a hundredth
+     */
+    private static EnumMap<YcsbWorkload.Operation, Double> operationShares(YcsbWorkload.Mix mix) {
+        var workload = new YcsbWorkload(mix, ITEMS, 7);
+        var counts = new EnumMap<YcsbWorkload.Operation, Double>(YcsbWorkload.Operation.class);
+        for (int i = 0; i < REQUESTS; i++) {
+            counts.merge(workload.next().operation(), 1.0, Double::sum);
+        }
+        counts.replaceAll((operation, count) -> Math.round(count / REQUESTS * 100) / 100.0);
+        return counts;
+    }
+}
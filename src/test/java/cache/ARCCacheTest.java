@@ -0,0 +1,94 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ARCCacheTest {
+
+    @Test
+    void shouldRejectCapacityBelowOne() {
+        assertThatThrownBy(() -> new ARCCache<Integer, Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldKeepOnlyLatestEntryWithCapacityOne() {
+        var cache = new ARCCache<Integer, Integer>(1);
+        for (int key = 0; key < 10; key++) {
+            cache.cache(key, key);
+            cache.getIfPresent(key);
+        }
+
+        assertThat(cache.getIfPresent(9)).isEqualTo(9);
+        assertThat(cache.getIfPresent(8)).isNull();
+    }
+
+    @Test
+    void shouldNotLetScanFlushFrequentEntries() {
+        var arc = new ARCCache<Integer, Integer>(100);
+        var lru = new LRUCache<Integer, Integer>(100);
+        for (var cache : List.<Cache<Integer, Integer>>of(arc, lru)) {
+            for (int round = 0; round < 3; round++) {
+                for (int key = 0; key < 80; key++) {
+                    loadOrCache(cache, key);
+                }
+            }
+
+            for (int key = 1000; key < 3000; key++) {
+                loadOrCache(cache, key);
+            }
+
+            cache.clearStats();
+            for (int key = 0; key < 80; key++) {
+                cache.load(key);
+            }
+        }
+
+        assertThat(arc.missCount()).isZero();
+        assertThat(lru.missCount()).isEqualTo(80);
+    }
+
+    @Test
+    void shouldGrowRecencyTargetOnRecentGhostHits() {
+        var cache = new ARCCache<Integer, Integer>(10);
+        for (int key = 0; key < 20; key++) {
+            loadOrCache(cache, key);
+            loadOrCache(cache, key);
+        }
+        int before = cache.target();
+
+        for (int key = 100; key < 115; key++) {
+            loadOrCache(cache, key);
+        }
+        for (int key = 108; key < 113; key++) {
+            loadOrCache(cache, key);
+        }
+
+        assertThat(cache.target()).isGreaterThan(before);
+    }
+
+    @Test
+    void shouldForgetInvalidatedEntries() {
+        var cache = new ARCCache<Integer, Integer>(10);
+        for (int key = 0; key < 30; key++) {
+            loadOrCache(cache, key);
+        }
+
+        cache.invalidate(29);
+        cache.cache(30, 30);
+
+        assertThat(cache.load(29)).isEmpty();
+        assertThat(cache.load(28)).contains(28);
+        assertThat(cache.load(30)).contains(30);
+        assertThat(cache.evictedCount()).isEqualTo(20);
+    }
+
+    private static void loadOrCache(Cache<Integer, Integer> cache, int key) {
+        if (cache.load(key).isEmpty()) {
+            cache.cache(key, key);
+        }
+    }
+}
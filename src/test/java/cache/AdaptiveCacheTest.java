@@ -0,0 +1,119 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveCacheTest {
+
+    private double heapUsage = 0.5;
+
+    @Test
+    void shouldGrowWhileEvictedKeysAreRequestedAgain() {
+        var cache = build(100);
+
+        replayCycle(cache, 150, 20000);
+
+        assertThat(cache.capacity()).isBetween(150, 200);
+        assertThat(cache.resizeCount()).isPositive();
+        cache.clearStats();
+        replayCycle(cache, 150, 1500);
+        assertThat(cache.stats().hitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldShrinkWhenEvictedKeysAreNotRequestedAgain() {
+        var cache = build(400);
+
+        replayCycle(cache, 50, 20000);
+
+        assertThat(cache.capacity()).isEqualTo(50);
+        cache.clearStats();
+        replayCycle(cache, 50, 500);
+        assertThat(cache.stats().hitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotGrowBeyondHeapHeadroom() {
+        heapUsage = 0.95;
+        var cache = build(100);
+
+        replayCycle(cache, 150, 20000);
+
+        assertThat(cache.capacity()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldKeepMostUsedEntriesWhenShrinking() {
+        var cache = new AdaptiveCache.Builder<Integer, Integer>()
+            .policy(LFRUCache::new)
+            .initialCapacity(20)
+            .minCapacity(10)
+            .stepFraction(0.5)
+            .adaptationPeriod(100)
+            .build();
+        for (int key = 0; key < 20; key++) {
+            cache.cache(key, key);
+        }
+        for (int request = 0; request < 100; request++) {
+            cache.getIfPresent(request % 5);
+        }
+
+        assertThat(cache.capacity()).isEqualTo(10);
+        for (int key = 0; key < 5; key++) {
+            assertThat(cache.getIfPresent(key)).isEqualTo(key);
+        }
+        assertThat(cache.stats().evictionCount()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldReplayAtMostMaxHitsPerEntryWhenResizing() {
+        var replayedLoads = new int[1];
+        var cache = new AdaptiveCache.Builder<Integer, Integer>()
+            .policy(capacity -> new LFRUCache<Integer, Integer>(capacity) {
+                @Override
+                public Integer getIfPresent(Integer key) {
+                    replayedLoads[0]++;
+                    return super.getIfPresent(key);
+                }
+            })
+            .initialCapacity(20)
+            .minCapacity(10)
+            .stepFraction(0.5)
+            .adaptationPeriod(10000)
+            .build();
+        cache.cache(0, 0);
+        cache.cache(1, 1);
+        for (int request = 0; request < 9999; request++) {
+            cache.getIfPresent(0);
+        }
+        replayedLoads[0] = 0;
+
+        cache.getIfPresent(1);
+
+        assertThat(cache.resizeCount()).isEqualTo(1);
+        assertThat(replayedLoads[0]).isEqualTo(1 + CacheSnapshot.MAX_HITS + 1);
+        assertThat(cache.getIfPresent(0)).isEqualTo(0);
+    }
+
+    private AdaptiveCache<Integer, Integer> build(int initialCapacity) {
+        return new AdaptiveCache.Builder<Integer, Integer>()
+            .policy(LRUCache::new)
+            .initialCapacity(initialCapacity)
+            .minCapacity(50)
+            .maxCapacity(200)
+            .adaptationPeriod(500)
+            .heapHeadroom(0.1)
+            .heapUsage(() -> heapUsage)
+            .build();
+    }
+
+    private static void replayCycle(Cache<Integer, Integer> cache, int keys, int requests) {
+        for (int request = 0; request < requests; request++) {
+            int key = request % keys;
+            if (cache.getIfPresent(key) == null) {
+                cache.cache(key, key);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncCacheTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor = tasks::add;
+    private final AtomicInteger loads = new AtomicInteger();
+    private long now = 0;
+    private boolean storeDown = false;
+
+    private final AsyncCache<Integer, String> cache = new AsyncCache.Builder<Integer, String>()
+        .cache(new LRUCache<>(10))
+        .loader(key -> {
+            if (storeDown) {
+                throw new IllegalStateException("store down");
+            }
+            return key + "-" + loads.incrementAndGet();
+        })
+        .executor(executor)
+        .ticker(() -> now)
+        .refreshAfterWrite(Duration.ofSeconds(10))
+        .expireAfterWrite(Duration.ofSeconds(60))
+        .build();
+
+    @Test
+    void shouldLoadOnExecutorWithoutBlocking() {
+        var future = cache.get(1);
+
+        assertThat(future).isNotDone();
+        runTasks();
+        assertThat(future).isCompletedWithValue("1-1");
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+    }
+
+    @Test
+    void shouldServeStaleValueWhileRefreshing() {
+        cache.get(1);
+        runTasks();
+
+        now += Duration.ofSeconds(15).toNanos();
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+        assertThat(tasks).hasSize(1);
+
+        runTasks();
+        assertThat(cache.get(1)).isCompletedWithValue("1-2");
+        assertThat(cache.refreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotServeExpiredValue() {
+        cache.get(1);
+        runTasks();
+
+        now += Duration.ofSeconds(61).toNanos();
+        var future = cache.get(1);
+
+        assertThat(future).isNotDone();
+        runTasks();
+        assertThat(future).isCompletedWithValue("1-2");
+    }
+
+    @Test
+    void shouldNotServeValueExpiredWhileRefreshing() {
+        cache.get(1);
+        runTasks();
+        now += Duration.ofSeconds(15).toNanos();
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+
+        now += Duration.ofSeconds(50).toNanos();
+        var future = cache.get(1);
+
+        assertThat(future).isNotDone();
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        assertThat(future).isCompletedWithValue("1-2");
+        assertThat(cache.get(1)).isCompletedWithValue("1-2");
+    }
+
+    @Test
+    void shouldFailReloadAfterSuccessfulLoadAndLoadAgainOnNextGet() {
+        cache.get(1);
+        runTasks();
+
+        now += Duration.ofSeconds(61).toNanos();
+        storeDown = true;
+        var failed = cache.get(1);
+        runTasks();
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(cache.loadFailureCount()).isEqualTo(1);
+        storeDown = false;
+        var reloaded = cache.get(1);
+        assertThat(reloaded).isNotDone();
+        runTasks();
+        assertThat(reloaded).isCompletedWithValue("1-2");
+    }
+
+    @Test
+    void shouldKeepOldValueWhenRefreshFails() {
+        cache.get(1);
+        runTasks();
+
+        now += Duration.ofSeconds(15).toNanos();
+        storeDown = true;
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+        runTasks();
+
+        assertThat(cache.loadFailureCount()).isEqualTo(1);
+        assertThat(cache.refreshCount()).isZero();
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+    }
+
+    @Test
+    void shouldWaitRefreshIntervalBeforeRetryingFailedRefresh() {
+        var calls = new AtomicInteger();
+        var cache = new AsyncCache.Builder<Integer, String>()
+            .cache(new LRUCache<>(10))
+            .loader(key -> {
+                calls.incrementAndGet();
+                if (storeDown) {
+                    throw new IllegalStateException("store down");
+                }
+                return key + "-" + calls.get();
+            })
+            .executor(executor)
+            .ticker(() -> now)
+            .refreshAfterWrite(Duration.ofSeconds(10))
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .build();
+        cache.get(1);
+        runTasks();
+
+        now += Duration.ofSeconds(15).toNanos();
+        storeDown = true;
+        cache.get(1);
+        runTasks();
+        for (int i = 0; i < 100; i++) {
+            now += Duration.ofMillis(50).toNanos();
+            assertThat(cache.get(1)).isCompletedWithValue("1-1");
+            runTasks();
+        }
+
+        assertThat(calls).hasValue(2);
+        now += Duration.ofSeconds(5).toNanos();
+        storeDown = false;
+        assertThat(cache.get(1)).isCompletedWithValue("1-1");
+        runTasks();
+        assertThat(calls).hasValue(3);
+        assertThat(cache.get(1)).isCompletedWithValue("1-3");
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package cache;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkCacheTest {
+
+    static Stream<IntFunction<Cache<Integer, String>>> caches() {
+        return Stream.of(
+            FIFOCache::new,
+            LRUCache::new,
+            LFRUCache::new,
+            RRCache::new,
+            WTinyLFUCache::new,
+            ARCCache::new,
+            ClockCache::new,
+            ClockProCache::new,
+            S3FIFOCache::new,
+            ConcurrentClockCache::new,
+            ConcurrentLRUCache::new,
+            capacity -> new SynchronizedCache<>(new LRUCache<>(capacity)),
+            capacity -> SegmentedCache.lru(capacity, 4));
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldEvictDownToCapacityAfterBulkInsert(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(100);
+        Map<Integer, String> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            entries.put(i, "v" + i);
+        }
+
+        cache.cacheAll(entries);
+
+        var present = cache.loadAll(entries.keySet());
+        assertThat(present.size()).isLessThanOrEqualTo(100);
+        assertThat(present.size() + cache.evictedCount()).isEqualTo(300);
+        present.forEach((key, value) -> assertThat(value).isEqualTo("v" + key));
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldLoadOnlyMissesInOneBatch(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(100);
+        cache.cache(1, "v1");
+        cache.cache(2, "v2");
+        var batches = new ArrayList<Set<Integer>>();
+
+        var result = cache.getAll(List.of(1, 2, 3, 4), keys -> {
+            batches.add(Set.copyOf(keys));
+            return keys.stream().collect(Collectors.toMap(key -> key, key -> "v" + key));
+        });
+
+        assertThat(batches).containsExactly(Set.of(3, 4));
+        assertThat(result).containsOnlyKeys(1, 2, 3, 4);
+        assertThat(cache.loadAll(IntStream.rangeClosed(1, 4).boxed().collect(Collectors.toList())))
+            .hasSize(4);
+    }
+}
@@ -0,0 +1,122 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CacheSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @MethodSource("cache.BulkCacheTest#caches")
+    void shouldRestoreEveryResidentEntry(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(100);
+        var keys = IntStream.range(0, 300).boxed().collect(Collectors.toList());
+        for (int key : keys) {
+            cache.load(key % 150);
+            cache.cache(key, "v" + key);
+        }
+        var resident = cache.loadAll(keys);
+        var file = directory.resolve("snapshot");
+
+        long written = CacheSnapshot.write(cache, file, Serializers.integer(), Serializers.string());
+        var restored = factory.apply(100);
+        CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string());
+
+        assertThat(written).isEqualTo(resident.size());
+        assertThat(restored.loadAll(keys)).isEqualTo(resident);
+    }
+
+    @Test
+    void shouldRestoreEntriesInRecencyOrder() {
+        var cache = new LRUCache<Integer, String>(10);
+        for (int key = 0; key < 10; key++) {
+            cache.cache(key, "value" + key);
+        }
+        cache.load(0);
+        var file = directory.resolve("lru.snapshot");
+
+        assertThat(CacheSnapshot.write(cache, file, Serializers.integer(), Serializers.string())).isEqualTo(10);
+        var restored = new LRUCache<Integer, String>(10);
+        assertThat(CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string())).isEqualTo(10);
+        List<Integer> evicted = new ArrayList<>();
+        restored.setRemovalListener((key, value, cause) -> evicted.add(key));
+        restored.cache(10, "value10");
+        restored.cache(11, "value11");
+
+        assertThat(evicted).containsExactly(1, 2);
+        assertThat(restored.load(0)).contains("value0");
+        assertThat(restored.load(9)).contains("value9");
+    }
+
+    @Test
+    void shouldRestoreFrequencies() {
+        var cache = new LFRUCache<Integer, String>(3);
+        cache.cache(1, "one");
+        cache.cache(2, "two");
+        cache.cache(3, "three");
+        for (int hit = 0; hit < 3; hit++) {
+            cache.load(1);
+            cache.load(3);
+        }
+        cache.load(3);
+        var file = directory.resolve("lfru.snapshot");
+
+        CacheSnapshot.write(cache, file, Serializers.integer(), Serializers.string());
+        var restored = new LFRUCache<Integer, String>(3);
+        CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string());
+        List<Integer> evicted = new ArrayList<>();
+        restored.setRemovalListener((key, value, cause) -> evicted.add(key));
+        restored.cache(4, "four");
+        restored.cache(5, "five");
+
+        assertThat(evicted).containsExactly(2, 4);
+        assertThat(restored.stats().requestCount()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldCapRecordedHits() {
+        var cache = new LFRUCache<Integer, String>(2);
+        cache.cache(1, "one");
+        for (int hit = 0; hit < 100; hit++) {
+            cache.load(1);
+        }
+        var file = directory.resolve("capped.snapshot");
+        CacheSnapshot.write(cache, file, Serializers.integer(), Serializers.string());
+
+        var restored = new LFRUCache<Integer, String>(2) {
+            @Override
+            public void clearStats() {
+            }
+        };
+        CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string());
+
+        assertThat(restored.stats().hitCount()).isEqualTo(CacheSnapshot.MAX_HITS);
+    }
+
+    @Test
+    void shouldRejectFileWhichIsNoSnapshot() throws IOException {
+        var file = directory.resolve("garbage.snapshot");
+        Files.write(file, new byte[64]);
+
+        assertThatThrownBy(() -> CacheSnapshot.restore(file, new LRUCache<Integer, String>(10),
+            Serializers.integer(), Serializers.string()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Not a cache snapshot");
+    }
+}
@@ -0,0 +1,102 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CacheStatsTest {
+
+    static Stream<IntFunction<Cache<Integer, String>>> caches() {
+        return Stream.of(
+            FIFOCache::new,
+            LRUCache::new,
+            LFRUCache::new,
+            RRCache::new,
+            WTinyLFUCache::new,
+            ARCCache::new,
+            ClockCache::new,
+            ClockProCache::new,
+            S3FIFOCache::new,
+            ConcurrentClockCache::new,
+            ConcurrentLRUCache::new,
+            capacity -> new OffHeapCache<>(capacity, 1 << 20, Serializers.integer(), Serializers.string()),
+            capacity -> new SynchronizedCache<>(new LRUCache<>(capacity)),
+            capacity -> SegmentedCache.lru(capacity, 4));
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldRecordRequestsLoadsAndRemovals(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(10);
+        for (int i = 0; i < 20; i++) {
+            cache.get(i, key -> "v" + key);
+        }
+        // RR may have evicted any key, even the last one inserted, so replace one still resident
+        int[] resident = {-1};
+        cache.forEachEntry((key, value, hits) -> resident[0] = key);
+        cache.cache(resident[0], "replaced");
+        cache.invalidate(resident[0]);
+        assertThatThrownBy(() -> cache.get(100, key -> { throw new IllegalStateException(); }))
+            .isInstanceOf(IllegalStateException.class);
+
+        var stats = cache.stats();
+        assertThat(stats.missCount()).isEqualTo(21);
+        assertThat(stats.loadSuccessCount()).isEqualTo(20);
+        assertThat(stats.loadFailureCount()).isEqualTo(1);
+        assertThat(stats.totalLoadTime()).isPositive();
+        assertThat(stats.removalCount(RemovalCause.SIZE)).isEqualTo(10);
+        assertThat(stats.removalCount(RemovalCause.REPLACED)).isEqualTo(1);
+        assertThat(stats.removalCount(RemovalCause.EXPLICIT)).isEqualTo(1);
+        assertThat(cache.evictedCount()).isEqualTo(10);
+
+        int hits = 0;
+        for (int i = 0; i < 20; i++) {
+            hits += cache.load(i).isPresent() ? 1 : 0;
+        }
+        assertThat(cache.stats().hitCount()).isEqualTo(hits);
+        assertThat(cache.stats().requestCount()).isEqualTo(41);
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldStartOverAfterClearingStats(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(10);
+        cache.load(1);
+        cache.clearStats();
+
+        cache.load(2);
+
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldRecordNothingWhenDisabled(IntFunction<Cache<Integer, String>> factory) {
+        var cache = factory.apply(10);
+        cache.setStatsCounter(StatsCounter.disabled());
+
+        for (int i = 0; i < 20; i++) {
+            cache.get(i, key -> "v" + key);
+        }
+
+        assertThat(cache.stats()).isEqualTo(CacheStats.empty());
+    }
+
+    @Test
+    void shouldComputeRates() {
+        var stats = new CacheStats(3, 1, 1, 1, 100, new long[] {0, 0, 2, 1});
+
+        assertThat(stats.hitRate()).isEqualTo(0.75);
+        assertThat(stats.averageLoadPenalty()).isEqualTo(50.0);
+        assertThat(stats.evictionCount()).isEqualTo(3);
+        assertThat(stats.minus(stats)).isEqualTo(CacheStats.empty());
+        assertThat(CacheStats.empty().plus(stats)).isEqualTo(stats);
+    }
+}
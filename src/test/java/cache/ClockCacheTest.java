@@ -0,0 +1,137 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClockCacheTest {
+
+    static Stream<IntFunction<Cache<Integer, Integer>>> clocks() {
+        return Stream.of(ClockCache::new, ConcurrentClockCache::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("clocks")
+    void shouldGiveReferencedEntriesSecondChance(IntFunction<Cache<Integer, Integer>> factory) {
+        var cache = factory.apply(4);
+        for (int key = 0; key < 4; key++) {
+            cache.cache(key, key);
+        }
+        cache.load(0);
+        cache.load(2);
+
+        cache.cache(4, 4);
+        cache.cache(5, 5);
+
+        assertThat(cache.load(0)).contains(0);
+        assertThat(cache.load(2)).contains(2);
+        assertThat(cache.load(1)).isEmpty();
+        assertThat(cache.load(3)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("clocks")
+    void shouldReuseInvalidatedSlots(IntFunction<Cache<Integer, Integer>> factory) {
+        var cache = factory.apply(4);
+        for (int key = 0; key < 4; key++) {
+            cache.cache(key, key);
+        }
+
+        cache.invalidate(1);
+        cache.cache(4, 4);
+
+        for (int key : List.of(0, 2, 3, 4)) {
+            assertThat(cache.load(key)).contains(key);
+        }
+        assertThat(cache.evictedCount()).isZero();
+    }
+
+    @Test
+    void shouldKeepHotEntriesThroughScan() {
+        var clockPro = new ClockProCache<Integer, Integer>(100);
+        var clock = new ClockCache<Integer, Integer>(100);
+        for (var cache : List.<Cache<Integer, Integer>>of(clockPro, clock)) {
+            for (int round = 0; round < 3; round++) {
+                for (int key = 0; key < 50; key++) {
+                    loadOrCache(cache, key);
+                }
+                for (int key = 1000 + round * 200; key < 1200 + round * 200; key++) {
+                    loadOrCache(cache, key);
+                }
+            }
+
+            cache.clearStats();
+            for (int key = 0; key < 50; key++) {
+                cache.load(key);
+            }
+        }
+
+        assertThat(clockPro.missCount()).isLessThan(clock.missCount());
+    }
+
+    @Test
+    void shouldKeepEntryMissedAgainWhileStillRemembered() {
+        var cache = new ClockProCache<Integer, Integer>(10);
+        for (int key = 0; key < 20; key++) {
+            cache.cache(key, key);
+        }
+        assertThat(cache.load(5)).isEmpty();
+
+        cache.cache(5, 5);
+        for (int key = 100; key < 200; key++) {
+            cache.cache(key, key);
+        }
+
+        assertThat(cache.load(5)).contains(5);
+        assertThat(cache.load(19)).isEmpty();
+        assertThat(cache.coldTarget()).isLessThan(10);
+    }
+
+    @Test
+    void shouldKeepOneEntryWithCapacityOne() {
+        var cache = new ClockProCache<Integer, Integer>(1);
+        cache.cache(0, 0);
+        cache.getIfPresent(0);
+
+        cache.cache(1, 1);
+        cache.getIfPresent(1);
+        cache.cache(2, 2);
+
+        assertThat(cache.getIfPresent(2)).isEqualTo(2);
+        assertThat(cache.getIfPresent(0)).isNull();
+        assertThat(cache.getIfPresent(1)).isNull();
+        assertThat(cache.evictedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNeverHoldMoreThanCapacity() {
+        var rnd = new Random(11);
+        for (int capacity = 1; capacity < 32; capacity++) {
+            var cache = new ClockProCache<Integer, Integer>(capacity);
+            for (int i = 0; i < 5000; i++) {
+                int key = rnd.nextInt(capacity * 4);
+                if (rnd.nextInt(20) == 0) {
+                    cache.invalidate(key);
+                } else {
+                    loadOrCache(cache, key);
+                }
+            }
+            int[] resident = new int[1];
+            cache.forEachEntry((key, value, hits) -> resident[0]++);
+            assertThat(resident[0]).isBetween(1, capacity);
+        }
+    }
+
+    private static void loadOrCache(Cache<Integer, Integer> cache, int key) {
+        if (cache.load(key).isEmpty()) {
+            cache.cache(key, key);
+        }
+    }
+}
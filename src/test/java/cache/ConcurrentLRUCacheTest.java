@@ -0,0 +1,144 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    void shouldReplayBufferedHitsInRecencyOrder() {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(5);
+        for (int key = 1; key <= 5; key++) {
+            cache.cache(key, key);
+        }
+
+        cache.getIfPresent(2);
+        cache.getIfPresent(1);
+        cache.cache(6, 6);
+
+        assertThat(keysInEvictionOrder(cache)).containsExactly(4, 5, 2, 1, 6);
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreBufferedHitOfInvalidatedEntry() {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(3);
+        cache.cache(1, 1);
+        cache.cache(2, 2);
+
+        cache.getIfPresent(1);
+        cache.invalidate(1);
+        cache.cache(3, 3);
+        cache.cache(4, 4);
+
+        assertThat(keysInEvictionOrder(cache)).containsExactly(2, 3, 4);
+        assertThat(cache.getIfPresent(1)).isNull();
+    }
+
+    /**
+     * The removal listener runs under the eviction lock, so blocking it makes every hit
+     * meanwhile fail to drain its full stripe, and the reads beyond the buffer are dropped.
+     */
+    @Test
+    void shouldStayConsistentWhenReadsAreDropped() throws Exception {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(10);
+        for (int key = 0; key < 10; key++) {
+            cache.cache(key, key);
+        }
+        var evicting = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        cache.setRemovalListener((key, value, cause) -> {
+            evicting.countDown();
+            await(release);
+        });
+        var writer = new Thread(() -> cache.cache(10, 10));
+        writer.start();
+        assertThat(evicting.await(10, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < ReadBuffer.BUFFER_SIZE * 10; i++) {
+            assertThat(cache.getIfPresent(i % 10 + 1)).isEqualTo(i % 10 + 1);
+        }
+        release.countDown();
+        writer.join();
+
+        var keys = keysInEvictionOrder(cache);
+        assertThat(keys).hasSize(10).doesNotHaveDuplicates().doesNotContain(0).contains(10);
+        for (int key : keys) {
+            assertThat(cache.getIfPresent(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void shouldKeepMapAndRecencyOrderConsistentUnderConcurrentAccess() throws Exception {
+        int threads = 8;
+        int capacity = 64;
+        int keys = capacity * 4;
+        var cache = new ConcurrentLRUCache<Integer, Integer>(capacity);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < threads; t++) {
+            var rnd = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20000; i++) {
+                    int key = rnd.nextInt(keys);
+                    int operation = rnd.nextInt(10);
+                    if (operation == 0) {
+                        cache.invalidate(key);
+                    } else if (operation < 4) {
+                        cache.cache(key, key);
+                    } else {
+                        var value = cache.getIfPresent(key);
+                        assertThat(value == null || value == key).isTrue();
+                    }
+                    if (i % 1000 == 0) {
+                        assertThat(keysInEvictionOrder(cache).size()).isLessThanOrEqualTo(capacity);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        var ordered = keysInEvictionOrder(cache);
+        assertThat(ordered.size()).isLessThanOrEqualTo(capacity).isEqualTo(new HashSet<>(ordered).size());
+        int resident = 0;
+        for (int key = 0; key < keys; key++) {
+            if (cache.getIfPresent(key) != null) {
+                assertThat(ordered).contains(key);
+                resident++;
+            }
+        }
+        assertThat(resident).isEqualTo(ordered.size());
+    }
+
+    private static List<Integer> keysInEvictionOrder(Cache<Integer, Integer> cache) {
+        var keys = new ArrayList<Integer>();
+        cache.forEachEntry((key, value, hits) -> keys.add(key));
+        return keys;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringCacheTest {
+
+    private final List<String> removals = new ArrayList<>();
+    private long now = 0;
+
+    @Test
+    void shouldExpireAfterWrite() {
+        var cache = build(new LRUCache<>(10), Duration.ofSeconds(60), Duration.ofNanos(Long.MAX_VALUE));
+        cache.cache(1, "one");
+
+        now += Duration.ofSeconds(59).toNanos();
+        assertThat(cache.load(1)).contains("one");
+        now += Duration.ofSeconds(1).toNanos();
+        assertThat(cache.load(1)).isEmpty();
+
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.stats().removalCount(RemovalCause.EXPIRED)).isEqualTo(1);
+        assertThat(removals).containsExactly("1=one EXPIRED");
+    }
+
+    @Test
+    void shouldExpireAfterAccess() {
+        var cache = build(new LRUCache<>(10), Duration.ofNanos(Long.MAX_VALUE), Duration.ofSeconds(10));
+        cache.cache(1, "one");
+
+        for (int i = 0; i < 10; i++) {
+            now += Duration.ofSeconds(9).toNanos();
+            assertThat(cache.load(1)).contains("one");
+        }
+        now += Duration.ofSeconds(10).toNanos();
+        assertThat(cache.load(1)).isEmpty();
+    }
+
+    @Test
+    void shouldExpireAfterWriteEvenWhenAccessed() {
+        var cache = build(new LRUCache<>(10), Duration.ofSeconds(30), Duration.ofSeconds(10));
+        cache.cache(1, "one");
+
+        for (int i = 0; i < 3; i++) {
+            now += Duration.ofSeconds(9).toNanos();
+            assertThat(cache.load(1)).contains("one");
+        }
+        now += Duration.ofSeconds(3).toNanos();
+        assertThat(cache.load(1)).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveExpiredEntriesWithoutReadingThem() {
+        var cache = build(new LFRUCache<>(100), Duration.ofMinutes(5), Duration.ofNanos(Long.MAX_VALUE));
+        for (int i = 0; i < 50; i++) {
+            cache.cache(i, "value" + i);
+        }
+
+        now += Duration.ofMinutes(2).toNanos();
+        cache.cache(50, "value50");
+        now += Duration.ofMinutes(4).toNanos();
+        cache.load(50);
+
+        assertThat(cache.stats().removalCount(RemovalCause.EXPIRED)).isEqualTo(50);
+        assertThat(removals).hasSize(50).allMatch(removal -> removal.endsWith("EXPIRED"));
+        assertThat(cache.load(50)).contains("value50");
+    }
+
+    @Test
+    void shouldExpireAfterLongDurations() {
+        var cache = build(new FIFOCache<>(10), Duration.ofDays(10), Duration.ofNanos(Long.MAX_VALUE));
+        cache.cache(1, "one");
+
+        for (int day = 1; day < 10; day++) {
+            now = Duration.ofDays(day).toNanos();
+            cache.cache(2, "two");
+        }
+        assertThat(removals).containsOnly("2=two REPLACED");
+
+        now = Duration.ofDays(10).toNanos() + 1;
+        cache.cache(2, "two");
+        assertThat(removals).contains("1=one EXPIRED");
+    }
+
+    @Test
+    void shouldReportCauseOfRemoval() {
+        var cache = build(new RRCache<>(2), Duration.ofSeconds(60), Duration.ofNanos(Long.MAX_VALUE));
+        cache.cache(1, "one");
+        cache.cache(1, "uno");
+        cache.invalidate(1);
+        cache.cache(2, "two");
+        cache.cache(3, "three");
+        cache.cache(4, "four");
+
+        assertThat(removals).hasSize(3);
+        assertThat(removals.get(0)).isEqualTo("1=one REPLACED");
+        assertThat(removals.get(1)).isEqualTo("1=uno EXPLICIT");
+        assertThat(removals.get(2)).endsWith("SIZE");
+    }
+
+    private ExpiringCache<Integer, String> build(Cache<Integer, ExpiringCache.Node<Integer, String>> delegate,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess) {
+        var cache = new ExpiringCache.Builder<Integer, String>()
+            .cache(delegate)
+            .ticker(() -> now)
+            .expireAfterWrite(expireAfterWrite)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+        cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value + " " + cause));
+        return cache;
+    }
+}
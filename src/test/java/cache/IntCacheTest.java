@@ -0,0 +1,159 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replays the same random requests on the int and the generic caches. Key ranges a few times
+ * the capacity keep the index full, so evictions shift entries back along wrapped probe chains.
+ */
+public class IntCacheTest {
+
+    private static final int OPERATIONS = 20000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 8, 64})
+    void shouldBehaveLikeFIFOCache(int capacity) {
+        assertSameAsGeneric(new IntFIFOCache<>(capacity), new FIFOCache<>(capacity), capacity);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 8, 64})
+    void shouldBehaveLikeLRUCache(int capacity) {
+        assertSameAsGeneric(new IntLRUCache<>(capacity), new LRUCache<>(capacity), capacity);
+    }
+
+    /**
+     * Victims are random, so only what does not depend on them is compared with RRCache:
+     * cached values are the latest ones and the cache stays full once filled.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 8, 64})
+    void shouldKeepLatestValuesAndCapacityLikeRRCache(int capacity) {
+        var cache = new IntRRCache<String>(capacity);
+        var latest = new HashMap<Integer, String>();
+        var rnd = new Random(capacity);
+        int inserted = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = rnd.nextInt(capacity * 3) - capacity;
+            if (rnd.nextBoolean()) {
+                if (cache.getIfPresent(key) == null) {
+                    inserted++;
+                }
+                cache.cache(key, "v" + i);
+                latest.put(key, "v" + i);
+            } else {
+                var value = cache.getIfPresent(key);
+                if (value != null) {
+                    assertThat(value).isEqualTo(latest.get(key));
+                }
+            }
+        }
+
+        int resident = 0;
+        for (int key : latest.keySet()) {
+            var value = cache.getIfPresent(key);
+            if (value != null) {
+                assertThat(value).isEqualTo(latest.get(key));
+                resident++;
+            }
+        }
+        assertThat(resident).isEqualTo(capacity);
+        assertThat(cache.evictedCount()).isEqualTo(inserted - capacity);
+    }
+
+    @Test
+    void shouldKeepOnlyLatestKeyWithCapacityOne() {
+        var caches = List.<IntCache<String>>of(new IntFIFOCache<>(1), new IntLRUCache<>(1), new IntRRCache<>(1));
+        for (var cache : caches) {
+            cache.cache(1, "a");
+            cache.cache(1, "b");
+            cache.cache(2, "c");
+
+            assertThat(cache.getIfPresent(1)).isNull();
+            assertThat(cache.getIfPresent(2)).isEqualTo("c");
+            assertThat(cache.evictedCount()).isEqualTo(1);
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRecordIntoStatsCounter() {
+        var cache = new IntLRUCache<String>(2);
+        cache.cache(1, "a");
+        cache.cache(1, "b");
+        cache.cache(2, "c");
+        cache.getIfPresent(1);
+        cache.cache(3, "d");
+        cache.getIfPresent(2);
+
+        var stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.removalCount(RemovalCause.SIZE)).isEqualTo(1);
+        assertThat(stats.removalCount(RemovalCause.REPLACED)).isEqualTo(1);
+
+        cache.clearStats();
+        assertThat(cache.stats().requestCount()).isZero();
+        cache.setStatsCounter(StatsCounter.disabled());
+        cache.getIfPresent(3);
+        assertThat(cache.stats().hitCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectCapacityBelowOne() {
+        assertThatThrownBy(() -> new IntFIFOCache<String>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IntLRUCache<String>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IntRRCache<String>(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldEvictEntriesWithNullValuesInFIFOOrder() {
+        var cache = new IntFIFOCache<String>(3);
+        cache.cache(1, null);
+        cache.cache(2, "b");
+        cache.cache(3, "c");
+
+        for (int key = 4; key <= 9; key++) {
+            cache.cache(key, "v" + key);
+        }
+
+        assertThat(cache.evictedCount()).isEqualTo(6);
+        for (int key = 1; key <= 6; key++) {
+            assertThat(cache.load(key)).isEmpty();
+        }
+        for (int key = 7; key <= 9; key++) {
+            assertThat(cache.getIfPresent(key)).isEqualTo("v" + key);
+        }
+    }
+
+    private static void assertSameAsGeneric(IntCache<String> intCache, Cache<Integer, String> cache, int capacity) {
+        var rnd = new Random(capacity);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = rnd.nextInt(capacity * 3) - capacity;
+            if (rnd.nextBoolean()) {
+                intCache.cache(key, "v" + i);
+                cache.cache(key, "v" + i);
+            } else {
+                assertThat(intCache.getIfPresent(key)).isEqualTo(cache.getIfPresent(key));
+            }
+        }
+        for (int key = -capacity; key < capacity * 2; key++) {
+            assertThat(intCache.getIfPresent(key)).isEqualTo(cache.getIfPresent(key));
+        }
+        var intStats = intCache.stats();
+        var stats = cache.stats();
+        assertThat(intStats.hitCount()).isEqualTo(stats.hitCount());
+        assertThat(intStats.missCount()).isEqualTo(stats.missCount());
+        assertThat(intStats.evictionCount()).isEqualTo(stats.evictionCount());
+        assertThat(intStats.removalCount(RemovalCause.REPLACED)).isEqualTo(stats.removalCount(RemovalCause.REPLACED));
+    }
+}
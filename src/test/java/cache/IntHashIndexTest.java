@@ -0,0 +1,109 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntHashIndexTest {
+
+    @Test
+    void shouldFindKeysOfProbeChainWrappingAroundTableEnd() {
+        int capacity = 4;
+        // 8 slots, all keys start probing in the last one and wrap to slots 0, 1 and 2
+        var index = new IntHashIndex(capacity);
+        var keys = keysHomedAt(7, 7, capacity);
+        for (int id = 0; id < capacity; id++) {
+            index.insert(keys.get(id), id);
+        }
+
+        for (int id = 0; id < capacity; id++) {
+            assertThat(index.find(keys.get(id))).isEqualTo(id);
+        }
+
+        index.remove(keys.get(0));
+        index.remove(keys.get(2));
+
+        assertThat(index.find(keys.get(0))).isEqualTo(-1);
+        assertThat(index.find(keys.get(1))).isEqualTo(1);
+        assertThat(index.find(keys.get(2))).isEqualTo(-1);
+        assertThat(index.find(keys.get(3))).isEqualTo(3);
+        index.insert(keys.get(0), 0);
+        assertThat(index.find(keys.get(0))).isEqualTo(0);
+    }
+
+    @Test
+    void shouldHoldOneKeyWithCapacityOne() {
+        var index = new IntHashIndex(1);
+
+        index.insert(5, 0);
+        assertThat(index.find(5)).isZero();
+        index.remove(5);
+        assertThat(index.find(5)).isEqualTo(-1);
+        index.insert(6, 0);
+
+        assertThat(index.find(6)).isZero();
+        assertThat(index.find(5)).isEqualTo(-1);
+    }
+
+    /**
+     * Reuses ids like the caches do, so the index is kept full while keys come and go.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 8, 33})
+    void shouldMatchHashMapUnderRandomInsertsAndRemovals(int capacity) {
+        var index = new IntHashIndex(capacity);
+        var expected = new HashMap<Integer, Integer>();
+        var rnd = new Random(capacity);
+        for (int i = 0; i < 20000; i++) {
+            int key = rnd.nextInt(capacity * 4) - capacity;
+            if (expected.containsKey(key)) {
+                index.remove(key);
+                expected.remove(key);
+            } else if (expected.size() < capacity) {
+                int id = freeId(expected, capacity);
+                index.insert(key, id);
+                expected.put(key, id);
+            }
+            for (int probe = -capacity; probe < capacity * 3; probe++) {
+                assertThat(index.find(probe)).isEqualTo(expected.getOrDefault(probe, -1));
+            }
+        }
+    }
+
+    private static int freeId(HashMap<Integer, Integer> used, int capacity) {
+        for (int id = 0; id < capacity; id++) {
+            if (!used.containsValue(id)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("Index is full");
+    }
+
+    /**
+     * @return keys hashing to the given slot of a table with {@code mask + 1} slots
+     */
+    private static List<Integer> keysHomedAt(int slot, int mask, int count) {
+        var keys = new ArrayList<Integer>();
+        for (int key = 0; keys.size() < count; key++) {
+            if (homeSlot(key, mask) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Same scrambling as the index, for a table of {@code mask + 1} slots.
+     */
+    private static int homeSlot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,130 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LFRUCacheTest {
+
+    @Test
+    void shouldEvictLeastFrequentlyUsedEntry() {
+        var cache = new LFRUCache<Integer, Integer>(3);
+        var evicted = new ArrayList<Integer>();
+        cache.setRemovalListener((key, value, cause) -> evicted.add(key));
+        cache.cache(1, 1);
+        cache.cache(2, 2);
+        cache.cache(3, 3);
+        cache.getIfPresent(1);
+        cache.getIfPresent(1);
+        cache.getIfPresent(3);
+
+        cache.cache(4, 4);
+
+        assertThat(evicted).containsExactly(2);
+        assertThat(entries(cache)).containsExactly("4:0", "3:1", "1:2");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedAmongSameFrequency() {
+        var cache = new LFRUCache<Integer, Integer>(3);
+        var evicted = new ArrayList<Integer>();
+        cache.setRemovalListener((key, value, cause) -> evicted.add(key));
+        cache.cache(1, 1);
+        cache.cache(2, 2);
+        cache.cache(3, 3);
+        cache.getIfPresent(2);
+        cache.getIfPresent(1);
+        cache.getIfPresent(3);
+
+        cache.cache(4, 4);
+        cache.cache(5, 5);
+
+        assertThat(evicted).containsExactly(2, 4);
+        assertThat(entries(cache)).containsExactly("5:0", "1:1", "3:1");
+    }
+
+    @Test
+    void shouldReuseReleasedFrequencyNodes() {
+        var cache = new LFRUCache<Integer, Integer>(3);
+        cache.cache(1, 1);
+        cache.getIfPresent(1);
+        cache.cache(2, 2);
+        cache.invalidate(1);
+        cache.getIfPresent(2);
+        cache.cache(3, 3);
+        cache.getIfPresent(3);
+        cache.getIfPresent(2);
+
+        assertThat(entries(cache)).containsExactly("3:1", "2:2");
+
+        cache.getIfPresent(3);
+        cache.getIfPresent(3);
+
+        assertThat(entries(cache)).containsExactly("2:2", "3:3");
+    }
+
+    /**
+     * Checks every eviction against a model that picks the lowest frequency and, among equal
+     * frequencies, the entry that reached its frequency first.
+     */
+    @Test
+    void shouldMatchReferenceModelUnderRandomOperations() {
+        int capacity = 16;
+        var cache = new LFRUCache<Integer, Integer>(capacity);
+        var evicted = new ArrayList<Integer>();
+        cache.setRemovalListener((key, value, cause) -> {
+            if (cause == RemovalCause.SIZE) {
+                evicted.add(key);
+            }
+        });
+        var frequencies = new HashMap<Integer, Long>();
+        var touched = new HashMap<Integer, Long>();
+        var rnd = new Random(42);
+        for (long time = 0; time < 50_000; time++) {
+            int key = rnd.nextInt(capacity * 3);
+            int operation = rnd.nextInt(10);
+            if (operation == 0) {
+                cache.invalidate(key);
+                frequencies.remove(key);
+                touched.remove(key);
+            } else if (operation < 4) {
+                Integer expectedVictim = null;
+                if (!frequencies.containsKey(key) && frequencies.size() == capacity) {
+                    expectedVictim = frequencies.keySet().stream()
+                        .min((a, b) -> frequencies.get(a).equals(frequencies.get(b))
+                            ? Long.compare(touched.get(a), touched.get(b))
+                            : Long.compare(frequencies.get(a), frequencies.get(b)))
+                        .orElseThrow();
+                    frequencies.remove(expectedVictim);
+                    touched.remove(expectedVictim);
+                }
+                evicted.clear();
+                cache.cache(key, key);
+                frequencies.merge(key, 1L, Long::sum);
+                touched.put(key, time);
+                assertThat(evicted).containsExactlyElementsOf(
+                    expectedVictim == null ? List.of() : List.of(expectedVictim));
+            } else if (cache.getIfPresent(key) != null) {
+                assertThat(frequencies).containsKey(key);
+                frequencies.merge(key, 1L, Long::sum);
+                touched.put(key, time);
+            } else {
+                assertThat(frequencies).doesNotContainKey(key);
+            }
+        }
+        var visited = new HashMap<Integer, Long>();
+        cache.forEachEntry((key, value, hits) -> visited.put(key, hits + 1L));
+        assertThat(visited).isEqualTo(frequencies);
+    }
+
+    private static List<String> entries(Cache<Integer, Integer> cache) {
+        var entries = new ArrayList<String>();
+        cache.forEachEntry((key, value, hits) -> entries.add(key + ":" + hits));
+        return entries;
+    }
+}
@@ -0,0 +1,136 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedLogCacheTest {
+
+    // every record takes 8 header + 4 key + 9 value bytes, 4 records fit a segment
+    private static final int SEGMENT_SIZE = 4 * 21;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackReplacedAndInvalidatedEntries() {
+        var cache = newCache(4);
+        for (int key = 0; key < 10; key++) {
+            cache.cache(key, value(key));
+        }
+        cache.cache(3, "replaced!");
+        cache.invalidate(5);
+
+        assertThat(cache.load(3)).contains("replaced!");
+        assertThat(cache.load(5)).isEmpty();
+        assertThat(cache.load(9)).contains(value(9));
+        assertThat(cache.size()).isEqualTo(9);
+        assertThat(cache.stats().removalCount(RemovalCause.REPLACED)).isEqualTo(1);
+        assertThat(cache.stats().removalCount(RemovalCause.EXPLICIT)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictOldestSegmentWhenMostlyLive() {
+        var cache = newCache(3);
+        List<Integer> evicted = new ArrayList<>();
+        cache.setRemovalListener((key, value, cause) -> evicted.add(key));
+
+        for (int key = 0; key < 13; key++) {
+            cache.cache(key, value(key));
+        }
+
+        assertThat(evicted).containsExactly(0, 1, 2, 3);
+        assertThat(cache.load(0)).isEmpty();
+        assertThat(cache.load(4)).contains(value(4));
+        assertThat(cache.diskBytes()).isEqualTo(4L * SEGMENT_SIZE);
+        assertThat(cache.compactionCount()).isZero();
+    }
+
+    @Test
+    void shouldCompactSegmentWithLittleLiveData() {
+        var cache = newCache(3);
+        for (int key = 0; key < 12; key++) {
+            cache.cache(key, value(key));
+        }
+        for (int key = 1; key < 4; key++) {
+            cache.invalidate(key);
+        }
+
+        cache.cache(12, value(12));
+
+        assertThat(cache.compactionCount()).isEqualTo(1);
+        assertThat(cache.evictedCount()).isZero();
+        for (int key : List.of(0, 4, 11, 12)) {
+            assertThat(cache.load(key)).contains(value(key));
+        }
+    }
+
+    @Test
+    void shouldReuseFreedSegmentFiles() throws IOException {
+        var cache = newCache(4);
+        for (int key = 0; key < 4; key++) {
+            cache.cache(key, value(key));
+        }
+        cache.cache(4, value(4));
+        for (int key = 0; key < 4; key++) {
+            cache.invalidate(key);
+        }
+        assertThat(Files.list(directory)).hasSize(2);
+
+        for (int key = 5; key < 8; key++) {
+            cache.cache(key, value(key));
+        }
+        cache.cache(8, value(8));
+
+        assertThat(Files.list(directory)).hasSize(2);
+        assertThat(cache.load(4)).contains(value(4));
+        assertThat(cache.load(8)).contains(value(8));
+    }
+
+    @Test
+    void shouldMapAtMostOneSegmentAboveLimit() throws IOException {
+        var cache = newCache(3);
+        for (int key = 0; key < 1000; key++) {
+            cache.cache(key % 40, value(key % 40));
+            if (key % 3 == 0) {
+                cache.invalidate((key + 7) % 40);
+            }
+        }
+
+        assertThat(Files.list(directory).count()).isLessThanOrEqualTo(4);
+        assertThat(cache.diskBytes()).isLessThanOrEqualTo(4L * SEGMENT_SIZE);
+        assertThat(cache.load(999 % 40)).contains(value(999 % 40));
+    }
+
+    @Test
+    void shouldDeleteSegmentFiles() throws IOException {
+        var cache = newCache(4);
+        for (int key = 0; key < 4; key++) {
+            cache.cache(key, value(key));
+        }
+        cache.cache(4, value(4));
+        for (int key = 0; key < 4; key++) {
+            cache.invalidate(key);
+        }
+
+        cache.close();
+
+        assertThat(Files.list(directory)).isEmpty();
+        assertThat(cache.load(4)).isEmpty();
+    }
+
+    private MappedLogCache<Integer, String> newCache(int maxSegments) {
+        return new MappedLogCache<>(directory, SEGMENT_SIZE, maxSegments, Serializers.integer(), Serializers.string());
+    }
+
+    private static String value(int key) {
+        return String.format("value%03d", key);
+    }
+}
@@ -0,0 +1,111 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffHeapCacheTest {
+
+    private final List<String> removals = new ArrayList<>();
+
+    @Test
+    void shouldKeepOnlyLatestEntryWithCapacityOne() {
+        var cache = build(1, 1 << 16);
+
+        for (int key = 0; key < 100; key++) {
+            cache.cache(key, "value" + key);
+            assertThat(cache.getIfPresent(key)).isEqualTo("value" + key);
+        }
+
+        assertThat(cache.getIfPresent(98)).isNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(99);
+        assertThat(removals).hasSize(99).startsWith("0=value0 SIZE");
+    }
+
+    /**
+     * Allocates the largest index, a gigabyte of direct memory.
+     */
+    @Test
+    void shouldAcceptMaximumCapacity() {
+        var cache = build(OffHeapCache.MAX_CAPACITY, 1 << 16);
+
+        for (int key = 0; key < 100; key++) {
+            cache.cache(key, "value" + key);
+        }
+
+        assertThat(cache.getIfPresent(0)).isEqualTo("value0");
+        assertThat(cache.getIfPresent(99)).isEqualTo("value99");
+    }
+
+    @Test
+    void shouldRejectCapacityAboveMaximum() {
+        assertThatThrownBy(() -> build(OffHeapCache.MAX_CAPACITY + 1, 1 << 16))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> build(0, 1 << 16))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldEvictInWriteOrderAndCountReplacements() {
+        var cache = build(3, 1 << 16);
+        cache.cache(1, "one");
+        cache.cache(2, "two");
+        cache.cache(3, "three");
+        cache.cache(1, "uno");
+        cache.cache(4, "four");
+
+        assertThat(cache.getIfPresent(1)).isEqualTo("uno");
+        assertThat(cache.getIfPresent(2)).isNull();
+        assertThat(removals).containsExactly("1=one REPLACED", "2=two SIZE");
+    }
+
+    @Test
+    void shouldEvictWholeSlabsWhenBytesRunOut() {
+        var cache = build(1000, 8 * 64);
+        for (int key = 0; key < 100; key++) {
+            cache.cache(key, "value" + key);
+        }
+
+        assertThat(cache.getIfPresent(99)).isEqualTo("value99");
+        assertThat(cache.getIfPresent(0)).isNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(removals.size()).isPositive();
+    }
+
+    @Test
+    void shouldMatchFifoCacheForRandomOperations() {
+        var rnd = new Random(7);
+        for (int capacity : new int[]{1, 2, 3, 7, 64}) {
+            var offHeap = build(capacity, 1 << 20);
+            var fifo = new FIFOCache<Integer, String>(capacity);
+            Map<Integer, String> written = new HashMap<>();
+            for (int i = 0; i < 20000; i++) {
+                int key = rnd.nextInt(capacity * 3);
+                if (rnd.nextInt(10) == 0) {
+                    offHeap.invalidate(key);
+                    fifo.invalidate(key);
+                } else if (offHeap.getIfPresent(key) == null) {
+                    offHeap.cache(key, "value" + i);
+                    fifo.cache(key, "value" + i);
+                    written.put(key, "value" + i);
+                }
+                assertThat(offHeap.getIfPresent(key)).isEqualTo(fifo.getIfPresent(key));
+            }
+            for (int key = 0; key < capacity * 3; key++) {
+                assertThat(offHeap.getIfPresent(key)).isEqualTo(fifo.getIfPresent(key));
+            }
+        }
+    }
+
+    private OffHeapCache<Integer, String> build(int capacity, long maxBytes) {
+        var cache = new OffHeapCache<>(capacity, maxBytes, Serializers.integer(), Serializers.string());
+        cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value + " " + cause));
+        return cache;
+    }
+}
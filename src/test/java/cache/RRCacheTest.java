@@ -0,0 +1,75 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RRCacheTest {
+
+    @Test
+    void shouldKeepSlotsConsistentAfterInvalidatingMiddleSlot() {
+        var cache = new RRCache<Integer, Integer>(4);
+        for (int key = 0; key < 4; key++) {
+            cache.cache(key, key);
+        }
+
+        cache.invalidate(1);
+        cache.invalidate(3);
+        cache.cache(4, 4);
+        cache.cache(5, 5);
+        cache.cache(6, 6);
+        cache.invalidate(2);
+        cache.cache(2, 2);
+
+        var keys = keys(cache);
+        assertThat(keys).hasSize(4).doesNotHaveDuplicates().contains(2);
+        for (int key : keys) {
+            assertThat(cache.getIfPresent(key)).isEqualTo(key);
+        }
+    }
+
+    /**
+     * Mixes caching, invalidation and random evictions, and after every operation compares
+     * the slot array, as seen by {@link Cache#forEachEntry}, with the keys tracked from the
+     * removal notifications.
+     */
+    @Test
+    void shouldKeepEveryResidentKeyReachableUnderRandomOperations() {
+        int capacity = 32;
+        var cache = new RRCache<Integer, Integer>(capacity);
+        var resident = new HashSet<Integer>();
+        cache.setRemovalListener((key, value, cause) -> {
+            if (cause != RemovalCause.REPLACED) {
+                assertThat(resident.remove(key)).isTrue();
+            }
+        });
+        var rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int key = rnd.nextInt(capacity * 3);
+            if (rnd.nextInt(3) == 0) {
+                cache.invalidate(key);
+            } else {
+                resident.add(key);
+                cache.cache(key, key);
+            }
+
+            var keys = keys(cache);
+            assertThat(keys.size()).isLessThanOrEqualTo(capacity);
+            assertThat(new HashSet<>(keys)).hasSameSizeAs(keys).isEqualTo(resident);
+        }
+        for (int key = 0; key < capacity * 3; key++) {
+            assertThat(cache.getIfPresent(key)).isEqualTo(resident.contains(key) ? key : null);
+        }
+    }
+
+    private static List<Integer> keys(Cache<Integer, Integer> cache) {
+        var keys = new ArrayList<Integer>();
+        cache.forEachEntry((key, value, hits) -> keys.add(key));
+        return keys;
+    }
+}
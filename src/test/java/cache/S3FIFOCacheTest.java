@@ -0,0 +1,75 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class S3FIFOCacheTest {
+
+    @Test
+    void shouldEvictOneHitWondersBeforeReusedEntries() {
+        var s3fifo = new S3FIFOCache<Integer, Integer>(100);
+        var lru = new LRUCache<Integer, Integer>(100);
+        for (var cache : List.<Cache<Integer, Integer>>of(s3fifo, lru)) {
+            for (int round = 0; round < 2; round++) {
+                for (int key = 0; key < 80; key++) {
+                    loadOrCache(cache, key);
+                }
+            }
+
+            for (int key = 1000; key < 1500; key++) {
+                loadOrCache(cache, key);
+            }
+
+            cache.clearStats();
+            for (int key = 0; key < 80; key++) {
+                cache.load(key);
+            }
+        }
+
+        assertThat(s3fifo.missCount()).isZero();
+        assertThat(lru.missCount()).isEqualTo(80);
+    }
+
+    @Test
+    void shouldAdmitRememberedKeyToMainQueue() {
+        var cache = new S3FIFOCache<Integer, Integer>(10);
+        for (int key = 0; key < 10; key++) {
+            cache.cache(key, key);
+        }
+        cache.cache(10, 10);
+        assertThat(cache.load(0)).isEmpty();
+
+        cache.cache(0, 0);
+        for (int key = 100; key < 120; key++) {
+            cache.cache(key, key);
+        }
+
+        assertThat(cache.load(0)).contains(0);
+        assertThat(cache.load(1)).isEmpty();
+    }
+
+    @Test
+    void shouldForgetInvalidatedEntries() {
+        var cache = new S3FIFOCache<Integer, Integer>(10);
+        for (int key = 0; key < 30; key++) {
+            loadOrCache(cache, key);
+        }
+
+        cache.invalidate(29);
+        cache.cache(30, 30);
+
+        assertThat(cache.load(29)).isEmpty();
+        assertThat(cache.load(28)).contains(28);
+        assertThat(cache.load(30)).contains(30);
+        assertThat(cache.evictedCount()).isEqualTo(20);
+    }
+
+    private static void loadOrCache(Cache<Integer, Integer> cache, int key) {
+        if (cache.load(key).isEmpty()) {
+            cache.cache(key, key);
+        }
+    }
+}
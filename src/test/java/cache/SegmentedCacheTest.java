@@ -0,0 +1,68 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentedCacheTest {
+
+    @Test
+    void shouldSplitCapacityAcrossSegments() {
+        var cache = SegmentedCache.<Integer, String>fifo(100, 6);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.cache(i, "v" + i);
+        }
+
+        int present = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (cache.load(i).isPresent()) {
+                present++;
+            }
+        }
+        assertThat(cache.segmentCount()).isEqualTo(4);
+        assertThat(present).isLessThanOrEqualTo(100);
+        assertThat(cache.evictedCount()).isEqualTo(1000 - present);
+    }
+
+    @Test
+    void shouldKeepStatsConsistentUnderConcurrentAccess() throws Exception {
+        int threads = 8;
+        int opsPerThread = 10000;
+        var cache = SegmentedCache.<Integer, Integer>lru(512, threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Integer>>();
+
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int missed = 0;
+                for (int i = 0; i < opsPerThread; i++) {
+                    int key = (i * 31 + seed) % 1024;
+                    if (cache.load(key).isEmpty()) {
+                        missed++;
+                        cache.cache(key, key);
+                    }
+                }
+                return missed;
+            }));
+        }
+        start.countDown();
+
+        int missed = 0;
+        for (var future : futures) {
+            missed += future.get();
+        }
+        executor.shutdown();
+
+        assertThat(cache.missCount()).isEqualTo(missed);
+    }
+}
@@ -0,0 +1,134 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        var cache = new SynchronizedCache<Integer, String>(new LRUCache<>(10));
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        var results = runConcurrently(() -> cache.get(1, key -> {
+            calls.incrementAndGet();
+            await(release);
+            return "value" + key;
+        }), release);
+
+        for (var result : results) {
+            assertThat(result.get()).isEqualTo("value1");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(cache.load(1)).contains("value1");
+    }
+
+    @Test
+    void shouldPropagateFailureToAllWaiters() throws Exception {
+        var cache = new ConcurrentLRUCache<Integer, String>(10);
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+
+        var results = runConcurrently(() -> cache.get(1, key -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("store down");
+        }), release);
+
+        for (var result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("store down");
+                continue;
+            }
+            throw new AssertionError("Expected load failure");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(cache.load(1)).isEmpty();
+    }
+
+    /**
+     * Another caller's load completes after this caller's miss but before it reaches
+     * the single flight, which finds no load in flight any more.
+     */
+    @Test
+    void shouldNotReloadValueCachedByLoadCompletedAfterMiss() {
+        var singleFlight = new SingleFlight<Integer, String>();
+        var lookups = new AtomicInteger();
+        var cache = new LRUCache<Integer, String>(10) {
+            @Override
+            public String getIfPresent(Integer key) {
+                var value = super.getIfPresent(key);
+                if (lookups.incrementAndGet() == 1) {
+                    singleFlight.load(key, k -> "value" + k, this, k -> peek(this, k), statsCounter());
+                }
+                return value;
+            }
+        };
+        var calls = new AtomicInteger();
+
+        var value = singleFlight.load(1, key -> {
+            calls.incrementAndGet();
+            return "reloaded";
+        }, cache, key -> peek(cache, key), cache.statsCounter());
+
+        assertThat(value).isEqualTo("value1");
+        assertThat(calls).hasValue(0);
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(2);
+        assertThat(cache.stats().hitCount()).isZero();
+    }
+
+    /**
+     * Looks the key up without recording statistics.
+     */
+    private static String peek(Cache<Integer, String> cache, Integer key) {
+        var found = new String[1];
+        cache.forEachEntry((k, value, hits) -> {
+            if (k.equals(key)) {
+                found[0] = value;
+            }
+        });
+        return found[0];
+    }
+
+    private static <T> List<Future<T>> runConcurrently(Callable<T> task,
+        CountDownLatch release) throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var started = new CountDownLatch(THREADS);
+        var futures = new ArrayList<Future<T>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                return task.call();
+            }));
+        }
+        started.await();
+        Thread.sleep(100);
+        release.countDown();
+        executor.shutdown();
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
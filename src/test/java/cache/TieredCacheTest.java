@@ -0,0 +1,93 @@
+package cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TieredCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private TieredCache<Integer, String> cache;
+    private List<String> removals;
+
+    @BeforeEach
+    void setUp() {
+        var secondTier = new MappedLogCache<>(directory, 1 << 10, 2, Serializers.integer(), Serializers.string());
+        cache = new TieredCache<>(new LRUCache<>(10), secondTier);
+        removals = new ArrayList<>();
+        cache.setRemovalListener((key, value, cause) -> removals.add(key + ":" + cause));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Test
+    void shouldServeEvictedEntriesFromSecondTier() {
+        for (int key = 0; key < 30; key++) {
+            cache.cache(key, "v" + key);
+        }
+        cache.clearStats();
+
+        for (int key = 0; key < 30; key++) {
+            assertThat(cache.load(key)).contains("v" + key);
+        }
+
+        assertThat(cache.stats().hitCount()).isEqualTo(30);
+        assertThat(cache.firstTierStats().hitCount()).isZero();
+        assertThat(cache.secondTierStats().hitCount()).isEqualTo(30);
+        assertThat(removals).isEmpty();
+    }
+
+    @Test
+    void shouldPromoteSecondTierHitsToFirstTier() {
+        for (int key = 0; key < 20; key++) {
+            cache.cache(key, "v" + key);
+        }
+        cache.load(0);
+        cache.clearStats();
+
+        assertThat(cache.load(0)).contains("v0");
+        assertThat(cache.load(100)).isEmpty();
+
+        assertThat(cache.firstTierStats().hitCount()).isEqualTo(1);
+        assertThat(cache.secondTierStats().requestCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotifyOnlyWhenEntryLeavesBothTiers() {
+        for (int key = 0; key < 20; key++) {
+            cache.cache(key, "v" + key);
+        }
+
+        cache.cache(0, "new");
+        cache.cache(19, "new");
+        cache.invalidate(1);
+        cache.invalidate(18);
+
+        assertThat(removals).containsExactly("0:REPLACED", "19:REPLACED", "1:EXPLICIT", "18:EXPLICIT");
+        assertThat(cache.load(0)).contains("new");
+        assertThat(cache.load(1)).isEmpty();
+    }
+
+    @Test
+    void shouldFallThroughToLoader() {
+        assertThat(cache.get(1, key -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get(1, key -> "reloaded")).isEqualTo("loaded");
+
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,62 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WTinyLFUCacheTest {
+
+    @Test
+    void shouldNotCountFirstAccessInSketch() {
+        var sketch = new FrequencySketch(100);
+
+        sketch.increment(1);
+        sketch.increment(2);
+        sketch.increment(2);
+        sketch.increment(2);
+
+        assertThat(sketch.frequency(1)).isEqualTo(1);
+        assertThat(sketch.frequency(2)).isEqualTo(3);
+        assertThat(sketch.frequency(3)).isZero();
+    }
+
+    @Test
+    void shouldAgeSketchCounters() {
+        var sketch = new FrequencySketch(8);
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(42);
+        }
+        int before = sketch.frequency(42);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(1000 + i);
+            sketch.increment(1000 + i);
+        }
+
+        assertThat(sketch.frequency(42)).isLessThan(before);
+    }
+
+    @Test
+    void shouldKeepFrequentKeysWhenFlushedByOneHitWonders() {
+        var cache = new WTinyLFUCache<Integer, Integer>(100);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                if (cache.load(key).isEmpty()) {
+                    cache.cache(key, key);
+                }
+            }
+        }
+
+        for (int key = 1000; key < 11000; key++) {
+            if (cache.load(key).isEmpty()) {
+                cache.cache(key, key);
+            }
+        }
+
+        cache.clearStats();
+        for (int key = 0; key < 50; key++) {
+            cache.load(key);
+        }
+        assertThat(cache.missCount()).isLessThan(5);
+    }
+}
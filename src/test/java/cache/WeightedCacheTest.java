@@ -0,0 +1,160 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeightedCacheTest {
+
+    private static final Weigher<Integer, String> LENGTH = (key, value) -> value.length();
+
+    static Stream<BiFunction<Long, Weigher<Integer, String>, Cache<Integer, String>>> caches() {
+        return Stream.of(
+            FIFOCache::new,
+            LRUCache::new,
+            LFRUCache::new,
+            RRCache::new,
+            (maxWeight, weigher) -> new WTinyLFUCache<>(maxWeight, weigher, 100),
+            ConcurrentLRUCache::new);
+    }
+
+    static Stream<BiFunction<Long, Weigher<Integer, String>, Cache<Integer, String>>> recencyCaches() {
+        return Stream.of(
+            FIFOCache::new,
+            LRUCache::new,
+            LFRUCache::new,
+            ConcurrentLRUCache::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldKeepTotalWeightWithinMaximum(BiFunction<Long, Weigher<Integer, String>, Cache<Integer, String>> factory) {
+        var cache = factory.apply(1000L, LENGTH);
+        var weights = new LinkedHashMap<Integer, Integer>();
+        cache.setRemovalListener((key, value, cause) -> weights.remove(key));
+        for (int i = 0; i < 500; i++) {
+            var value = "x".repeat(1 + i % 50 * 4);
+            weights.put(i, value.length());
+            cache.cache(i, value);
+            assertThat(weights.values().stream().mapToInt(Integer::intValue).sum()).isLessThanOrEqualTo(1000);
+        }
+        assertThat(cache.evictedCount()).isPositive();
+        weights.keySet().forEach(key -> assertThat(cache.load(key)).isPresent());
+    }
+
+    @ParameterizedTest
+    @MethodSource("recencyCaches")
+    void shouldEvictSeveralLightEntriesForHeavyOne(BiFunction<Long, Weigher<Integer, String>, Cache<Integer, String>> factory) {
+        var cache = fillWithLightEntries(factory.apply(1000L, LENGTH));
+
+        cache.cache(100, "x".repeat(500));
+
+        assertThat(cache.load(100)).contains("x".repeat(500));
+        assertThat(cache.evictedCount()).isGreaterThanOrEqualTo(50);
+        assertThat(residentLightEntries(cache)).isLessThanOrEqualTo(50).isEqualTo(100 - cache.evictedCount());
+    }
+
+    /**
+     * Victims are random, so the heavy entry may be one of them, but the cache never holds
+     * more than its maximum weight.
+     */
+    @Test
+    void shouldEvictRandomEntriesUntilHeavyOneFits() {
+        var cache = fillWithLightEntries(new RRCache<>(1000L, LENGTH));
+
+        cache.cache(100, "x".repeat(500));
+
+        int light = residentLightEntries(cache);
+        int heavy = cache.load(100).isPresent() ? 1 : 0;
+        assertThat(light * 10 + heavy * 500).isLessThanOrEqualTo(1000);
+        assertThat(cache.evictedCount()).isEqualTo(100 + 1 - light - heavy);
+        assertThat(cache.evictedCount()).isPositive();
+    }
+
+    /**
+     * A heavy entry never requested is not more frequent than the main region's victim,
+     * so it is rejected instead of evicting the light entries. The light entry it pushes out
+     * of the window is not either and is rejected too.
+     */
+    @Test
+    void shouldRejectHeavyEntryNotMoreFrequentThanVictims() {
+        var cache = fillWithLightEntries(new WTinyLFUCache<>(1000L, LENGTH, 100));
+
+        cache.cache(100, "x".repeat(500));
+
+        assertThat(cache.evictedCount()).isEqualTo(2);
+        assertThat(residentLightEntries(cache)).isEqualTo(99);
+        assertThat(cache.load(100)).isEmpty();
+    }
+
+    /**
+     * Misses on the heavy key raise its frequency above the never read light entries,
+     * so it is admitted and they are evicted to make room.
+     */
+    @Test
+    void shouldAdmitHeavyEntryMoreFrequentThanVictims() {
+        var cache = fillWithLightEntries(new WTinyLFUCache<>(1000L, LENGTH, 100));
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.getIfPresent(100)).isNull();
+        }
+
+        cache.cache(100, "x".repeat(500));
+
+        assertThat(cache.load(100)).contains("x".repeat(500));
+        assertThat(cache.evictedCount()).isGreaterThanOrEqualTo(50);
+        assertThat(residentLightEntries(cache)).isLessThanOrEqualTo(50);
+    }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    void shouldTrimAfterBulkInsert(BiFunction<Long, Weigher<Integer, String>, Cache<Integer, String>> factory) {
+        var cache = factory.apply(1000L, LENGTH);
+        Map<Integer, String> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            entries.put(i, "x".repeat(100));
+        }
+
+        cache.cacheAll(entries);
+
+        assertThat(cache.loadAll(entries.keySet()).size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void shouldEstimateCommonTypes() {
+        assertThat(Weighers.sizeOf("abc")).isEqualTo(24 + 24);
+        assertThat(Weighers.sizeOf(new byte[100])).isEqualTo(120);
+        assertThat(Weighers.sizeOf(42)).isEqualTo(16);
+        assertThat(Weighers.sizeOf(42L)).isEqualTo(24);
+        assertThat(Weighers.<Integer, byte[]>estimated().weigh(1, new byte[1000]))
+            .isGreaterThan(1000)
+            .isLessThan(1100);
+    }
+
+    /**
+     * Fills the cache to its maximum weight of 1000 with 100 entries weighing 10.
+     */
+    private static Cache<Integer, String> fillWithLightEntries(Cache<Integer, String> cache) {
+        for (int i = 0; i < 100; i++) {
+            cache.cache(i, "x".repeat(10));
+        }
+        cache.clearStats();
+        return cache;
+    }
+
+    private static int residentLightEntries(Cache<Integer, String> cache) {
+        int resident = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.load(i).isPresent()) {
+                resident++;
+            }
+        }
+        return resident;
+    }
+}
@@ -3,8 +3,17 @@ package data;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Backing store over {@code values.csv} which reads and scans the whole file on every call, so a
+ * miss is as expensive as a slow remote store. Suites measuring what caches save on such misses
+ * use it, those timing the caches themselves use {@link MappedCsvRepo}.
+ */
 public class CsvRepo {
 
     public String load(Integer key) {
@@ -25,4 +34,32 @@ public class CsvRepo {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Fetches all keys in one pass over the file, like a batched backing store query.
+     */
+    public Map<Integer, String> loadAll(Collection<Integer> keys) {
+        String filePath = CsvRepo.class.getClassLoader().getResource("values.csv").getPath();
+        try {
+            List<String> lines = Files.readAllLines(Paths.get(filePath));
+            var remaining = new HashSet<>(keys);
+            Map<Integer, String> result = new HashMap<>();
+
+            for (int i = 0; i < lines.size() && !remaining.isEmpty(); i++) {
+                String line = lines.get(i);
+                var arr = line.split(";");
+                Integer key = Integer.valueOf(arr[0].replace("\uFEFF", ""));
+                if (remaining.remove(key)) {
+                    result.put(key, arr[1]);
+                }
+            }
+
+            if (!remaining.isEmpty()) {
+                throw new RuntimeException("Elements not found: " + remaining);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
@@ -0,0 +1,212 @@
+package data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Backing store over a {@code key;value} file with int keys, mapped into memory once and
+ * indexed by one pass over its bytes. A load finds the value's position in an open-addressing
+ * index and decodes just its bytes, so it costs the same for any key and any file size.
+ * <p>
+ * Files above 2 GB are mapped in windows of {@value #WINDOW_SIZE} bytes, each overlapping the
+ * next by {@value #MAX_LINE_LENGTH} bytes so any line starting in a window ends in it too.
+ * Lines may end with CRLF, and a leading byte order mark is skipped.
+ */
+public class MappedCsvRepo {
+
+    static final long WINDOW_SIZE = 1L << 30;
+    static final int MAX_LINE_LENGTH = 1 << 16;
+
+    private static final byte SEPARATOR = ';';
+    private static final int LENGTH_BITS = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final Path file;
+    private final long windowSize;
+    private final MappedByteBuffer[] windows;
+
+    private int[] keys;
+    private long[] positions;
+    private int size;
+
+    public MappedCsvRepo(Path file) {
+        this(file, WINDOW_SIZE);
+    }
+
+    MappedCsvRepo(Path file, long windowSize) {
+        this.file = file;
+        this.windowSize = windowSize;
+        this.keys = new int[1024];
+        this.positions = new long[1024];
+        try (var channel = FileChannel.open(file, READ)) {
+            long fileSize = channel.size();
+            this.windows = new MappedByteBuffer[(int) Math.max(1, (fileSize + windowSize - 1) / windowSize)];
+            for (int i = 0; i < windows.length; i++) {
+                long start = i * windowSize;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(windowSize + MAX_LINE_LENGTH, fileSize - start));
+            }
+            index(fileSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Repository over a file on the test classpath.
+     */
+    public static MappedCsvRepo ofResource(String name) {
+        try {
+            return new MappedCsvRepo(Path.of(MappedCsvRepo.class.getClassLoader().getResource(name).toURI()));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public String load(Integer key) {
+        long position = find(key);
+        if (position == 0) {
+            throw new RuntimeException("Element not found: " + key);
+        }
+        long offset = position >>> LENGTH_BITS;
+        int length = (int) (position & ((1 << LENGTH_BITS) - 1));
+        var window = windows[(int) (offset / windowSize)];
+        int local = (int) (offset % windowSize);
+        var bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = window.get(local + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Map<Integer, String> loadAll(Collection<Integer> keys) {
+        Map<Integer, String> result = new HashMap<>();
+        for (Integer key : keys) {
+            result.put(key, load(key));
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Parses keys in place, recording where each value starts and how long it is.
+     * Blank lines are skipped.
+     */
+    private void index(long fileSize) {
+        long offset = startsWithByteOrderMark(fileSize) ? 3 : 0;
+        while (offset < fileSize) {
+            long lineStart = offset;
+            byte b = byteAt(offset);
+            if (b == '\n' || b == '\r') {
+                offset = lineEnd(offset, fileSize) + 1;
+                continue;
+            }
+            boolean negative = b == '-';
+            if (negative) {
+                offset++;
+            }
+            long key = 0;
+            while (offset < fileSize && (b = byteAt(offset)) >= '0' && b <= '9' && key <= Integer.MAX_VALUE) {
+                key = key * 10 + (b - '0');
+                offset++;
+            }
+            if (offset == fileSize || byteAt(offset) != SEPARATOR || key > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid line at byte " + lineStart + " of " + file);
+            }
+            long valueStart = offset + 1;
+            long lineEnd = lineEnd(valueStart, fileSize);
+            long valueEnd = lineEnd > valueStart && byteAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (lineEnd - lineStart > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("Line longer than " + MAX_LINE_LENGTH + " bytes at byte " + lineStart + " of " + file);
+            }
+            insert((int) (negative ? -key : key), valueStart << LENGTH_BITS | (valueEnd - valueStart));
+            offset = lineEnd + 1;
+        }
+    }
+
+    /**
+     * @return offset of the line feed ending the line, or the file size for the last line
+     */
+    private long lineEnd(long offset, long fileSize) {
+        while (offset < fileSize && byteAt(offset) != '\n') {
+            offset++;
+        }
+        return offset;
+    }
+
+    private boolean startsWithByteOrderMark(long fileSize) {
+        return fileSize >= 3 && byteAt(0) == (byte) 0xef && byteAt(1) == (byte) 0xbb && byteAt(2) == (byte) 0xbf;
+    }
+
+    private byte byteAt(long offset) {
+        return windows[(int) (offset / windowSize)].get((int) (offset % windowSize));
+    }
+
+    /**
+     * @return position of the key's value, zero when absent, as no value starts at offset 0
+     */
+    private long find(int key) {
+        int mask = keys.length - 1;
+        for (int slot = home(key, mask); positions[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return positions[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A later line with the same key replaces the earlier one.
+     */
+    private void insert(int key, long position) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+        while (positions[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (positions[slot] == 0) {
+            size++;
+        }
+        keys[slot] = key;
+        positions[slot] = position;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldPositions = positions;
+        keys = new int[oldKeys.length * 2];
+        positions = new long[oldPositions.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldPositions[i] != 0) {
+                int slot = home(oldKeys[i], mask);
+                while (positions[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                positions[slot] = oldPositions[i];
+            }
+        }
+    }
+
+    private static int home(int key, int mask) {
+        int hash = key * 0x9e3779b9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,73 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedCsvRepoTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldLoadEveryLineOfValuesCsv() throws IOException {
+        var repo = MappedCsvRepo.ofResource("values.csv");
+        var lines = Files.readAllLines(Path.of(getClass().getClassLoader().getResource("values.csv").getPath()));
+
+        assertThat(repo.size()).isEqualTo(lines.size());
+        for (String line : lines) {
+            var fields = line.replace("\uFEFF", "").split(";");
+            assertThat(repo.load(Integer.valueOf(fields[0]))).isEqualTo(fields[1]);
+        }
+    }
+
+    @Test
+    void shouldParseNegativeKeysCrlfBlankLinesAndMissingTrailingNewline() throws IOException {
+        var file = directory.resolve("values.csv");
+        Files.write(file, "1;one\r\n\n-7;minus seven\r\n3;\n42;za\u017c\u00f3\u0142\u0107".getBytes(StandardCharsets.UTF_8));
+
+        var repo = new MappedCsvRepo(file);
+
+        assertThat(repo.size()).isEqualTo(4);
+        assertThat(repo.loadAll(List.of(1, -7, 3, 42)))
+            .containsEntry(1, "one")
+            .containsEntry(-7, "minus seven")
+            .containsEntry(3, "")
+            .containsEntry(42, "za\u017c\u00f3\u0142\u0107");
+        assertThatThrownBy(() -> repo.load(2)).hasMessageContaining("Element not found: 2");
+    }
+
+    @Test
+    void shouldLoadLinesCrossingMappedWindows() throws IOException {
+        var file = directory.resolve("large.csv");
+        var lines = new StringBuilder();
+        for (int key = 0; key < 10000; key++) {
+            lines.append(key).append(';').append("value").append(key * 31).append('\n');
+        }
+        Files.writeString(file, lines);
+
+        var repo = new MappedCsvRepo(file, 4096);
+
+        assertThat(repo.size()).isEqualTo(10000);
+        for (int key = 0; key < 10000; key++) {
+            assertThat(repo.load(key)).isEqualTo("value" + key * 31);
+        }
+    }
+
+    @Test
+    void shouldRejectLineWithoutSeparator() throws IOException {
+        var file = directory.resolve("broken.csv");
+        Files.writeString(file, "1;one\ntwo\n");
+
+        assertThatThrownBy(() -> new MappedCsvRepo(file)).isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid line at byte 6");
+    }
+}
@@ -0,0 +1,83 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class AdaptiveReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public AdaptiveReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/adaptive/adaptive" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String sizing,
+        String phase,
+        long requests,
+        double hitRate,
+        int capacity,
+        long resizes,
+        double nanosPerRequest) {
+        entries.add(new Entry(sizing, phase, requests, hitRate * 100.0, capacity, resizes, nanosPerRequest));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/adaptive"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String sizing;
+        private final String phase;
+        private final long requests;
+        private final double hitPercentage;
+        private final int capacity;
+        private final long resizes;
+        private final double nanosPerRequest;
+
+        public Entry(String sizing,
+            String phase,
+            long requests,
+            double hitPercentage,
+            int capacity,
+            long resizes,
+            double nanosPerRequest) {
+            this.sizing = sizing;
+            this.phase = phase;
+            this.requests = requests;
+            this.hitPercentage = hitPercentage;
+            this.capacity = capacity;
+            this.resizes = resizes;
+            this.nanosPerRequest = nanosPerRequest;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nsizing='" + sizing + '\'' +
+                "\nphase='" + phase + '\'' +
+                "\nrequests=" + requests +
+                "\nhitPercentage=" + hitPercentage +
+                "\ncapacity=" + capacity +
+                "\nresizes=" + resizes +
+                "\nnanosPerRequest=" + nanosPerRequest +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class AllocationReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public AllocationReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/allocation/allocation" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String method, int operations, int missed, long allocatedBytes, Duration duration) {
+        entries.add(new Entry(method,
+            operations,
+            missed,
+            (operations - missed) / (operations * 1.0) * 100.0,
+            duration.toNanos() / (operations * 1.0),
+            allocatedBytes / (operations * 1.0)));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/allocation"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int operations;
+        private final int missed;
+        private final double hitPercentage;
+        private final double nanosPerOperation;
+        private final double bytesPerOperation;
+
+        public Entry(String method,
+            int operations,
+            int missed,
+            double hitPercentage,
+            double nanosPerOperation,
+            double bytesPerOperation) {
+            this.method = method;
+            this.operations = operations;
+            this.missed = missed;
+            this.hitPercentage = hitPercentage;
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\noperations=" + operations +
+                "\nmissed=" + missed +
+                "\nhitPercentage=" + hitPercentage +
+                "\nnanosPerOperation=" + nanosPerOperation +
+                "\nbytesPerOperation=" + bytesPerOperation +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package report;
+
+import benchmark.MemoryMeter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class BulkReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public BulkReportGenerator(Class<?> testedClass, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/bulk/bulk" + testedClass.getSimpleName() + createdAt + ".txt";
+    }
+
+    public void addEntry(String method,
+        int warmup,
+        int tests,
+        int batchSize,
+        int missed,
+        Duration duration,
+        MemoryMeter memory) {
+        int keys = tests * batchSize;
+        entries.add(new Entry(method,
+            warmup,
+            tests,
+            batchSize,
+            missed,
+            (keys - missed) / (keys * 1.0) * 100.0,
+            duration,
+            duration.dividedBy(batchSize),
+            memory.gcTime()));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/bulk"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int warmup;
+        private final int tests;
+        private final int batchSize;
+        private final int missed;
+        private final double hitPercentage;
+        private final Duration avgBatchTime;
+        private final Duration avgKeyTime;
+        private final Duration gcTime;
+
+        public Entry(String method,
+            int warmup,
+            int tests,
+            int batchSize,
+            int missed,
+            double hitPercentage,
+            Duration avgBatchTime,
+            Duration avgKeyTime,
+            Duration gcTime) {
+            this.method = method;
+            this.warmup = warmup;
+            this.tests = tests;
+            this.batchSize = batchSize;
+            this.missed = missed;
+            this.hitPercentage = hitPercentage;
+            this.avgBatchTime = avgBatchTime;
+            this.avgKeyTime = avgKeyTime;
+            this.gcTime = gcTime;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nwarmup=" + warmup +
+                "\ntests=" + tests +
+                "\nbatchSize=" + batchSize +
+                "\nmissed=" + missed +
+                "\nhitPercentage=" + hitPercentage +
+                "\navgBatchTime=" + avgBatchTime +
+                "\navgKeyTime=" + avgKeyTime +
+                "\ngcTime=" + gcTime +
+                "\n}";
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package report;
 
+import benchmark.MemoryMeter;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -7,6 +9,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static java.nio.charset.Charset.defaultCharset;
 import static java.nio.file.StandardOpenOption.APPEND;
@@ -16,14 +19,22 @@ import static java.util.stream.Collectors.toList;
 public class CacheRaportGenerator {
 
     private final List<Entry> entries;
+    private final List<FootprintEntry> footprints;
     private final String filename;
 
     public CacheRaportGenerator(Class<?> testedClass, Instant createdAt) {
         this.entries = new ArrayList<>();
+        this.footprints = new ArrayList<>();
         this.filename = "results/cache/cache" + testedClass.getSimpleName() + createdAt + ".txt";
     }
 
-    public void addEntry(String method, int warmup, int tests, int missed, int evicted, Duration duration) {
+    public void addEntry(String method,
+        int warmup,
+        int tests,
+        int missed,
+        int evicted,
+        Duration duration,
+        MemoryMeter memory) {
         entries.add(new Entry(method,
             warmup,
             tests,
@@ -31,13 +42,26 @@ public class CacheRaportGenerator {
             tests - missed,
             (tests - missed) / (tests * 1.0) * 100.0,
             evicted,
-            duration));
+            duration,
+            memory.gcTime(),
+            memory.gcCount(),
+            memory.heapUsed()));
+    }
+
+    public void addFootprintEntry(String method, int entries, long retainedHeapBytes, long retainedOffHeapBytes) {
+        footprints.add(new FootprintEntry(method,
+            entries,
+            retainedHeapBytes,
+            retainedOffHeapBytes,
+            (retainedHeapBytes + retainedOffHeapBytes) / (entries * 1.0)));
     }
 
     public void write() {
         try {
             Files.createDirectories(Paths.get("results/cache"));
-            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            List<String> entriesStr = Stream.concat(
+                entries.stream().map(Entry::toString),
+                footprints.stream().map(FootprintEntry::toString)).collect(toList());
             Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
         } catch (IOException e) {
             throw new RuntimeException("IO error", e);
@@ -53,6 +77,9 @@ public class CacheRaportGenerator {
         private final double hitPercentage;
         private final int evicted;
         private final Duration avgReadTime;
+        private final Duration gcTime;
+        private final long gcCount;
+        private final long heapUsed;
 
         public Entry(String method,
             int warmup,
@@ -61,7 +88,10 @@ public class CacheRaportGenerator {
             int hit,
             double hitPercentage,
             int evicted,
-            Duration averageCacheLoadTime) {
+            Duration averageCacheLoadTime,
+            Duration gcTime,
+            long gcCount,
+            long heapUsed) {
             this.method = method;
             this.warmup = warmup;
             this.tests = tests;
@@ -70,6 +100,9 @@ public class CacheRaportGenerator {
             this.hitPercentage = hitPercentage;
             this.evicted = evicted;
             this.avgReadTime = averageCacheLoadTime;
+            this.gcTime = gcTime;
+            this.gcCount = gcCount;
+            this.heapUsed = heapUsed;
         }
 
         @Override
@@ -83,6 +116,40 @@ public class CacheRaportGenerator {
                 "\nhitPercentage=" + hitPercentage +
                 "\nevicted=" + evicted +
                 "\navgReadTime=" + avgReadTime +
+                "\ngcTime=" + gcTime +
+                "\ngcCount=" + gcCount +
+                "\nheapUsed=" + heapUsed +
+                "\n}";
+        }
+    }
+
+    private static class FootprintEntry {
+        private final String method;
+        private final int entries;
+        private final long retainedHeapBytes;
+        private final long retainedOffHeapBytes;
+        private final double bytesPerEntry;
+
+        public FootprintEntry(String method,
+            int entries,
+            long retainedHeapBytes,
+            long retainedOffHeapBytes,
+            double bytesPerEntry) {
+            this.method = method;
+            this.entries = entries;
+            this.retainedHeapBytes = retainedHeapBytes;
+            this.retainedOffHeapBytes = retainedOffHeapBytes;
+            this.bytesPerEntry = bytesPerEntry;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nentries=" + entries +
+                "\nretainedHeapBytes=" + retainedHeapBytes +
+                "\nretainedOffHeapBytes=" + retainedOffHeapBytes +
+                "\nbytesPerEntry=" + bytesPerEntry +
                 "\n}";
         }
     }
@@ -0,0 +1,104 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Writes a summary of every curve, plus one {@code capacity,missRatio} CSV file per curve
+ * for capacity planning.
+ */
+public class MissRatioCurveReportGenerator {
+
+    private final List<Entry> entries;
+    private final String testedName;
+    private final Instant createdAt;
+
+    public MissRatioCurveReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.testedName = testedName;
+        this.createdAt = createdAt;
+    }
+
+    public void addEntry(String method,
+        long requests,
+        long sampledRequests,
+        int trackedKeys,
+        double samplingRate,
+        double maxError,
+        Duration duration,
+        NavigableMap<Integer, Double> curve) {
+        entries.add(new Entry(method, requests, sampledRequests, trackedKeys, samplingRate, maxError, duration, curve));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/mrc"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get("results/mrc/mrc" + testedName + createdAt + ".txt"),
+                entriesStr, defaultCharset(), APPEND, CREATE);
+            for (var entry : entries) {
+                List<String> lines = new ArrayList<>();
+                lines.add("capacity,missRatio");
+                entry.curve.forEach((capacity, missRatio) -> lines.add(capacity + "," + missRatio));
+                Files.write(Paths.get("results/mrc/mrc" + testedName + entry.method + createdAt + ".csv"),
+                    lines, defaultCharset());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final long requests;
+        private final long sampledRequests;
+        private final int trackedKeys;
+        private final double samplingRate;
+        private final double maxError;
+        private final Duration time;
+        private final NavigableMap<Integer, Double> curve;
+
+        public Entry(String method,
+            long requests,
+            long sampledRequests,
+            int trackedKeys,
+            double samplingRate,
+            double maxError,
+            Duration time,
+            NavigableMap<Integer, Double> curve) {
+            this.method = method;
+            this.requests = requests;
+            this.sampledRequests = sampledRequests;
+            this.trackedKeys = trackedKeys;
+            this.samplingRate = samplingRate;
+            this.maxError = maxError;
+            this.time = time;
+            this.curve = curve;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nrequests=" + requests +
+                "\nsampledRequests=" + sampledRequests +
+                "\ntrackedKeys=" + trackedKeys +
+                "\nsamplingRate=" + samplingRate +
+                "\nmaxError=" + maxError +
+                "\ntime=" + time +
+                "\nnanosPerRequest=" + (requests == 0 ? 0 : time.toNanos() / requests) +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package report;
+
+import benchmark.ThroughputBenchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class ScalingReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public ScalingReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/scaling/scaling" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String method,
+        int threads,
+        int writePercentage,
+        double readHitRate,
+        ThroughputBenchmark benchmark,
+        Duration duration) {
+        long operations = benchmark.totalOperations();
+        entries.add(new Entry(method,
+            threads,
+            writePercentage,
+            operations,
+            readHitRate * 100.0,
+            ThroughputBenchmark.opsPerSecond(operations, duration),
+            benchmark.latencyPercentile(50).toNanos(),
+            benchmark.latencyPercentile(99).toNanos(),
+            benchmark.latencyPercentile(99.9).toNanos(),
+            IntStream.range(0, threads).mapToObj(thread -> benchmark.latencyPercentile(thread, 99).toNanos()).collect(toList()),
+            benchmark.blockedCount(),
+            benchmark.blockedTime(),
+            benchmark.waitedCount(),
+            benchmark.waitedTime(),
+            duration));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/scaling"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int threads;
+        private final int writePercentage;
+        private final long operations;
+        private final double readHitPercentage;
+        private final double opsPerSecond;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final List<Long> p99NanosPerThread;
+        private final long blockedCount;
+        private final Duration blockedTime;
+        private final long waitedCount;
+        private final Duration waitedTime;
+        private final Duration time;
+
+        public Entry(String method,
+            int threads,
+            int writePercentage,
+            long operations,
+            double readHitPercentage,
+            double opsPerSecond,
+            long p50Nanos,
+            long p99Nanos,
+            long p999Nanos,
+            List<Long> p99NanosPerThread,
+            long blockedCount,
+            Duration blockedTime,
+            long waitedCount,
+            Duration waitedTime,
+            Duration time) {
+            this.method = method;
+            this.threads = threads;
+            this.writePercentage = writePercentage;
+            this.operations = operations;
+            this.readHitPercentage = readHitPercentage;
+            this.opsPerSecond = opsPerSecond;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.p99NanosPerThread = p99NanosPerThread;
+            this.blockedCount = blockedCount;
+            this.blockedTime = blockedTime;
+            this.waitedCount = waitedCount;
+            this.waitedTime = waitedTime;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nthreads=" + threads +
+                "\nwritePercentage=" + writePercentage +
+                "\noperations=" + operations +
+                "\nreadHitPercentage=" + readHitPercentage +
+                "\nopsPerSecond=" + opsPerSecond +
+                "\np50Nanos=" + p50Nanos +
+                "\np99Nanos=" + p99Nanos +
+                "\np999Nanos=" + p999Nanos +
+                "\np99NanosPerThread=" + p99NanosPerThread +
+                "\nblockedCount=" + blockedCount +
+                "\nblockedTime=" + blockedTime +
+                "\nwaitedCount=" + waitedCount +
+                "\nwaitedTime=" + waitedTime +
+                "\ntime=" + time +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package report;
+
+import benchmark.TraceSimulator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class SimulationReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public SimulationReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/simulation/simulation" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String trace, TraceSimulator.Result result) {
+        entries.add(new Entry(trace,
+            result.policy(),
+            result.capacity(),
+            result.requests(),
+            result.hitRate() * 100.0,
+            result.evictions(),
+            result.nanosPerRequest(),
+            result.time()));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/simulation"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String trace;
+        private final String policy;
+        private final int capacity;
+        private final long requests;
+        private final double hitPercentage;
+        private final long evictions;
+        private final double nanosPerRequest;
+        private final Duration time;
+
+        public Entry(String trace,
+            String policy,
+            int capacity,
+            long requests,
+            double hitPercentage,
+            long evictions,
+            double nanosPerRequest,
+            Duration time) {
+            this.trace = trace;
+            this.policy = policy;
+            this.capacity = capacity;
+            this.requests = requests;
+            this.hitPercentage = hitPercentage;
+            this.evictions = evictions;
+            this.nanosPerRequest = nanosPerRequest;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\ntrace='" + trace + '\'' +
+                "\npolicy='" + policy + '\'' +
+                "\ncapacity=" + capacity +
+                "\nrequests=" + requests +
+                "\nhitPercentage=" + hitPercentage +
+                "\nevictions=" + evictions +
+                "\nnanosPerRequest=" + nanosPerRequest +
+                "\ntime=" + time +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class SnapshotReportGenerator {
+
+    private final List<Object> entries;
+    private final String filename;
+
+    public SnapshotReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/snapshot/snapshot" + testedName + createdAt + ".txt";
+    }
+
+    public void addRestoreEntry(String method, long entries, long fileBytes, Duration writeTime, Duration restoreTime) {
+        this.entries.add(new RestoreEntry(method, entries, fileBytes, writeTime, restoreTime));
+    }
+
+    public void addHitRatioEntry(String method, int tests, double coldHitPercentage, double restoredHitPercentage) {
+        this.entries.add(new HitRatioEntry(method, tests, coldHitPercentage, restoredHitPercentage));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/snapshot"));
+            List<String> entriesStr = entries.stream().map(Object::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class RestoreEntry {
+        private final String method;
+        private final long entries;
+        private final long fileBytes;
+        private final Duration writeTime;
+        private final Duration restoreTime;
+
+        public RestoreEntry(String method, long entries, long fileBytes, Duration writeTime, Duration restoreTime) {
+            this.method = method;
+            this.entries = entries;
+            this.fileBytes = fileBytes;
+            this.writeTime = writeTime;
+            this.restoreTime = restoreTime;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nentries=" + entries +
+                "\nfileBytes=" + fileBytes +
+                "\nbytesPerEntry=" + (entries == 0 ? 0.0 : (double) fileBytes / entries) +
+                "\nwriteTime=" + writeTime +
+                "\nrestoreTime=" + restoreTime +
+                "\nrestoreNanosPerEntry=" + (entries == 0 ? 0 : restoreTime.toNanos() / entries) +
+                "\n}";
+        }
+    }
+
+    private static class HitRatioEntry {
+        private final String method;
+        private final int tests;
+        private final double coldHitPercentage;
+        private final double restoredHitPercentage;
+
+        public HitRatioEntry(String method, int tests, double coldHitPercentage, double restoredHitPercentage) {
+            this.method = method;
+            this.tests = tests;
+            this.coldHitPercentage = coldHitPercentage;
+            this.restoredHitPercentage = restoredHitPercentage;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\ntests=" + tests +
+                "\ncoldHitPercentage=" + coldHitPercentage +
+                "\nrestoredHitPercentage=" + restoredHitPercentage +
+                "\n}";
+        }
+    }
+}
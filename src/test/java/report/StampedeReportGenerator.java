@@ -0,0 +1,69 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class StampedeReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public StampedeReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/stampede/stampede" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String method, int threads, int keys, int backingStoreCalls, Duration duration) {
+        entries.add(new Entry(method, threads, keys, backingStoreCalls, backingStoreCalls / (keys * 1.0), duration));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/stampede"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int threads;
+        private final int keys;
+        private final int backingStoreCalls;
+        private final double callsPerKey;
+        private final Duration time;
+
+        public Entry(String method, int threads, int keys, int backingStoreCalls, double callsPerKey, Duration time) {
+            this.method = method;
+            this.threads = threads;
+            this.keys = keys;
+            this.backingStoreCalls = backingStoreCalls;
+            this.callsPerKey = callsPerKey;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nthreads=" + threads +
+                "\nkeys=" + keys +
+                "\nbackingStoreCalls=" + backingStoreCalls +
+                "\ncallsPerKey=" + callsPerKey +
+                "\ntime=" + time +
+                "\n}";
+        }
+    }
+}
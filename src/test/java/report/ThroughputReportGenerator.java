@@ -0,0 +1,84 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class ThroughputReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public ThroughputReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/throughput/throughput" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String method, int threads, long operations, int missed, Duration duration) {
+        entries.add(new Entry(method,
+            threads,
+            operations,
+            missed,
+            (operations - missed) / (operations * 1.0) * 100.0,
+            operations / (duration.toNanos() / 1e9),
+            duration));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/throughput"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int threads;
+        private final long operations;
+        private final int missed;
+        private final double hitPercentage;
+        private final double opsPerSecond;
+        private final Duration time;
+
+        public Entry(String method,
+            int threads,
+            long operations,
+            int missed,
+            double hitPercentage,
+            double opsPerSecond,
+            Duration time) {
+            this.method = method;
+            this.threads = threads;
+            this.operations = operations;
+            this.missed = missed;
+            this.hitPercentage = hitPercentage;
+            this.opsPerSecond = opsPerSecond;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nthreads=" + threads +
+                "\noperations=" + operations +
+                "\nmissed=" + missed +
+                "\nhitPercentage=" + hitPercentage +
+                "\nopsPerSecond=" + opsPerSecond +
+                "\ntime=" + time +
+                "\n}";
+        }
+    }
+}
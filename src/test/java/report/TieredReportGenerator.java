@@ -0,0 +1,102 @@
+package report;
+
+import cache.CacheStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class TieredReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public TieredReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/tiered/tiered" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String method,
+        int warmup,
+        int tests,
+        CacheStats stats,
+        CacheStats firstTier,
+        CacheStats secondTier,
+        Duration duration) {
+        entries.add(new Entry(method,
+            warmup,
+            tests,
+            stats.missCount(),
+            stats.hitRate() * 100.0,
+            firstTier.hitCount(),
+            secondTier.hitCount(),
+            secondTier.requestCount() == 0 ? 0.0 : secondTier.hitRate() * 100.0,
+            duration));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/tiered"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String method;
+        private final int warmup;
+        private final int tests;
+        private final long missed;
+        private final double hitPercentage;
+        private final long firstTierHits;
+        private final long secondTierHits;
+        private final double secondTierHitPercentage;
+        private final Duration avgReadTime;
+
+        public Entry(String method,
+            int warmup,
+            int tests,
+            long missed,
+            double hitPercentage,
+            long firstTierHits,
+            long secondTierHits,
+            double secondTierHitPercentage,
+            Duration avgReadTime) {
+            this.method = method;
+            this.warmup = warmup;
+            this.tests = tests;
+            this.missed = missed;
+            this.hitPercentage = hitPercentage;
+            this.firstTierHits = firstTierHits;
+            this.secondTierHits = secondTierHits;
+            this.secondTierHitPercentage = secondTierHitPercentage;
+            this.avgReadTime = avgReadTime;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nmethod='" + method + '\'' +
+                "\nwarmup=" + warmup +
+                "\ntests=" + tests +
+                "\nmissed=" + missed +
+                "\nhitPercentage=" + hitPercentage +
+                "\nfirstTierHits=" + firstTierHits +
+                "\nsecondTierHits=" + secondTierHits +
+                "\nsecondTierHitPercentage=" + secondTierHitPercentage +
+                "\navgReadTime=" + avgReadTime +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.Charset.defaultCharset;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+public class WorkloadReportGenerator {
+
+    private final List<Entry> entries;
+    private final String filename;
+
+    public WorkloadReportGenerator(String testedName, Instant createdAt) {
+        this.entries = new ArrayList<>();
+        this.filename = "results/workload/workload" + testedName + createdAt + ".txt";
+    }
+
+    public void addEntry(String workload, long keys, int distinctKeys, double hottestKeyPercentage, double nanosPerKey) {
+        entries.add(new Entry(workload, keys, distinctKeys, hottestKeyPercentage, nanosPerKey));
+    }
+
+    public void write() {
+        try {
+            Files.createDirectories(Paths.get("results/workload"));
+            List<String> entriesStr = entries.stream().map(Entry::toString).collect(toList());
+            Files.write(Paths.get(filename), entriesStr, defaultCharset(), APPEND, CREATE);
+        } catch (IOException e) {
+            throw new RuntimeException("IO error", e);
+        }
+    }
+
+    private static class Entry {
+        private final String workload;
+        private final long keys;
+        private final int distinctKeys;
+        private final double hottestKeyPercentage;
+        private final double nanosPerKey;
+
+        public Entry(String workload, long keys, int distinctKeys, double hottestKeyPercentage, double nanosPerKey) {
+            this.workload = workload;
+            this.keys = keys;
+            this.distinctKeys = distinctKeys;
+            this.hottestKeyPercentage = hottestKeyPercentage;
+            this.nanosPerKey = nanosPerKey;
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                "\nworkload='" + workload + '\'' +
+                "\nkeys=" + keys +
+                "\ndistinctKeys=" + distinctKeys +
+                "\nhottestKeyPercentage=" + hottestKeyPercentage +
+                "\nnanosPerKey=" + nanosPerKey +
+                "\n}";
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package run;
+
+import cache.AdaptiveCache;
+import cache.Cache;
+import cache.LRUCache;
+import cache.S3FIFOCache;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.AdaptiveReportGenerator;
+
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * Compares caches fixed at the smallest and the largest allowed capacity with an
+ * {@link AdaptiveCache} between them, over phases whose working sets are narrow and wide.
+ * The adaptive cache should get close to the hit ratio of the large one in wide phases and
+ * close to the capacity of the small one in narrow phases.
+ */
+public class AdaptiveCacheSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int MIN_CAPACITY = DB_SIZE / 16;
+    private static final int MAX_CAPACITY = DB_SIZE;
+    private static final int REQUESTS_PER_PHASE = 500000;
+    private static final String[] PHASES = {"narrow", "wide", "narrow", "widest", "narrow"};
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected AdaptiveReportGenerator report;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new AdaptiveReportGenerator(getClass().getSimpleName(), createdAt);
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, Integer> getCache(int capacity);
+
+        /**
+         * Requests are Gaussian around the middle of the key space, with a deviation of
+         * 1/64, 1/8 and 1/4 of it in narrow, wide and widest phases.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "fixed-small",
+            "fixed-large",
+            "adaptive",
+        })
+        void phasedWorkingSet(String sizing) {
+            var rnd = new Random(42);
+            AdaptiveCache<Integer, Integer> adaptive = null;
+            Cache<Integer, Integer> cache;
+            if (sizing.equals("adaptive")) {
+                adaptive = new AdaptiveCache.Builder<Integer, Integer>()
+                    .policy(this::getCache)
+                    .initialCapacity(DB_SIZE / 4)
+                    .minCapacity(MIN_CAPACITY)
+                    .maxCapacity(MAX_CAPACITY)
+                    .build();
+                cache = adaptive;
+            } else {
+                cache = getCache(sizing.equals("fixed-small") ? MIN_CAPACITY : MAX_CAPACITY);
+            }
+
+            for (String phase : PHASES) {
+                double deviation = DB_SIZE / (phase.equals("narrow") ? 64.0 : phase.equals("wide") ? 8.0 : 4.0);
+                cache.clearStats();
+                long begin = System.nanoTime();
+                for (int request = 0; request < REQUESTS_PER_PHASE; request++) {
+                    int key = (int) Math.max(0, Math.min(DB_SIZE - 1, Math.round(rnd.nextGaussian() * deviation + DB_SIZE / 2.0)));
+                    if (cache.getIfPresent(key) == null) {
+                        cache.cache(key, key);
+                    }
+                }
+                long time = System.nanoTime() - begin;
+                int capacity = adaptive == null ? (sizing.equals("fixed-small") ? MIN_CAPACITY : MAX_CAPACITY) : adaptive.capacity();
+                long resizes = adaptive == null ? 0 : adaptive.resizeCount();
+                report.addEntry(sizing, phase, REQUESTS_PER_PHASE, cache.stats().hitRate(), capacity, resizes,
+                    (double) time / REQUESTS_PER_PHASE);
+            }
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+
+        @Override
+        Cache<Integer, Integer> getCache(int capacity) {
+            return new LRUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+
+        @Override
+        Cache<Integer, Integer> getCache(int capacity) {
+            return new WTinyLFUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class S3FIFOBenchmark extends CommonSteps {
+
+        @Override
+        Cache<Integer, Integer> getCache(int capacity) {
+            return new S3FIFOCache<>(capacity);
+        }
+    }
+}
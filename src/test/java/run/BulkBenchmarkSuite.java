@@ -0,0 +1,183 @@
+package run;
+
+import benchmark.AvgTimeBenchmark;
+import benchmark.MemoryMeter;
+import cache.Cache;
+import cache.FIFOCache;
+import cache.LFRUCache;
+import cache.LRUCache;
+import cache.RRCache;
+import cache.SegmentedCache;
+import cache.WTinyLFUCache;
+import data.CsvRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.BulkReportGenerator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected CsvRepo csvRepo;
+        protected BulkReportGenerator report;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            csvRepo = new CsvRepo();
+            report = new BulkReportGenerator(getCache().getClass(), createdAt);
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache();
+
+        @ParameterizedTest
+        @CsvSource({
+            "100,       100,        1",
+            "100,       100,        10",
+            "100,       100,        50",
+            "100,       100,        200",
+        })
+        void averagePerKeyBatchTimeGaussianRandom(int warmUp, int tests, int batchSize) {
+            var cache = getCache();
+            var benchmark = new AvgTimeBenchmark.Builder<List<Integer>, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> randomGaussianBatch(batchSize))
+                .testCase((in, ctx) -> {
+                    List<String> values = new ArrayList<>(in.size());
+                    for (Integer key : in) {
+                        values.add(cache.get(key, csvRepo::load));
+                    }
+                    return values;
+                })
+                .build();
+
+            var memory = MemoryMeter.start();
+            var result = benchmark.run();
+            memory.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averagePerKeyBatchTimeGaussianRandom",
+                warmUp,
+                tests,
+                batchSize,
+                cache.missCount(),
+                result,
+                memory);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "100,       100,        1",
+            "100,       100,        10",
+            "100,       100,        50",
+            "100,       100,        200",
+        })
+        void averageBulkBatchTimeGaussianRandom(int warmUp, int tests, int batchSize) {
+            var cache = getCache();
+            var benchmark = new AvgTimeBenchmark.Builder<List<Integer>, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> randomGaussianBatch(batchSize))
+                .testCase((in, ctx) -> cache.getAll(in, csvRepo::loadAll))
+                .build();
+
+            var memory = MemoryMeter.start();
+            var result = benchmark.run();
+            memory.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageBulkBatchTimeGaussianRandom",
+                warmUp,
+                tests,
+                batchSize,
+                cache.missCount(),
+                result,
+                memory);
+        }
+
+        private List<Integer> randomGaussianBatch(int batchSize) {
+            List<Integer> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+                batch.add((int) Math.max(0, Math.min(DB_SIZE, index)));
+            }
+            return batch;
+        }
+    }
+
+    @Nested
+    class FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new FIFOCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class LFRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new LFRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new LRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class RRBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new RRCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new WTinyLFUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class SegmentedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return SegmentedCache.lru(DB_SIZE / 4, 16);
+        }
+    }
+}
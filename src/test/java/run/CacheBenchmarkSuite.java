@@ -1,12 +1,22 @@
 package run;
 
 import benchmark.AvgTimeBenchmark;
+import benchmark.MemoryMeter;
+import benchmark.workload.Workloads;
+import benchmark.workload.YcsbWorkload;
+import cache.ARCCache;
 import cache.Cache;
+import cache.ClockCache;
+import cache.ClockProCache;
 import cache.FIFOCache;
 import cache.LFRUCache;
 import cache.LRUCache;
+import cache.OffHeapCache;
 import cache.RRCache;
-import data.CsvRepo;
+import cache.S3FIFOCache;
+import cache.Serializers;
+import cache.WTinyLFUCache;
+import data.MappedCsvRepo;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +26,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import report.CacheRaportGenerator;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,23 +34,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class CacheBenchmarkSuite {
 
     private static final int DB_SIZE = 15000;
+    private static final int HOTSET_SIZE = DB_SIZE / 10;
+    private static final int FOOTPRINT_CACHES = 16;
+    private static final long SEED = 42;
+    private static final String UPDATED_VALUE = "updated";
     private static final Random rnd = new Random();
 
     private static abstract class CommonSteps {
 
         private static Instant createdAt;
 
-        protected CsvRepo csvRepo;
+        private static MappedCsvRepo sharedRepo;
+
+        protected MappedCsvRepo csvRepo;
         protected CacheRaportGenerator report;
+        private int scanPosition;
 
         @BeforeAll
         static void setUpAll() {
             createdAt = Instant.now();
+            if (sharedRepo == null) {
+                sharedRepo = MappedCsvRepo.ofResource("values.csv");
+            }
         }
 
         @BeforeEach
         void setUp() {
-            csvRepo = new CsvRepo();
+            csvRepo = sharedRepo;
             report = new CacheRaportGenerator(getCache().getClass(), createdAt);
         }
 
@@ -71,7 +92,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheMissLoadTimeLinearRandom",
@@ -79,7 +102,8 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
         }
 
         @ParameterizedTest
@@ -103,7 +127,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheMissLoadTimeGaussianRandom",
@@ -111,7 +137,8 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
         }
 
         @ParameterizedTest
@@ -136,7 +163,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheHitLoadTimeLinearRandom",
@@ -144,7 +173,8 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
         }
 
         @ParameterizedTest
@@ -169,7 +199,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheHitLoadTimeGaussianRandom",
@@ -177,7 +209,8 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
         }
 
         @ParameterizedTest
@@ -201,7 +234,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheMissAndHitTimeGaussianRandom",
@@ -209,7 +244,8 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
         }
 
         @ParameterizedTest
@@ -233,7 +269,9 @@ public class CacheBenchmarkSuite {
                 })
                 .build();
 
+            var memory = MemoryMeter.start();
             var result = benchmark.run();
+            memory.stop();
 
             assertThat(result).isNotNull();
             report.addEntry("averageCacheMissAndHitLoadTimeLinearRandom",
@@ -241,7 +279,181 @@ public class CacheBenchmarkSuite {
                 tests,
                 cache.missCount(),
                 cache.evictedCount(),
-                result);
+                result,
+                memory);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "0,         1000",
+            "10000,     1000",
+        })
+        void averageCacheMissAndHitLoadTimeScanAndHotset(int warmUp, int tests) {
+            var cache = getCache();
+            var benchmark = new AvgTimeBenchmark.Builder<Integer, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> scanAndHotset())
+                .testCase((in, ctx) -> {
+                    cache.load(in).ifPresentOrElse(ctx::jitAssert, () -> {
+                        var value = csvRepo.load(in);
+                        cache.cache(in, value);
+                    });
+                    return cache;
+                })
+                .build();
+
+            var memory = MemoryMeter.start();
+            var result = benchmark.run();
+            memory.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageCacheMissAndHitLoadTimeScanAndHotset",
+                warmUp,
+                tests,
+                cache.missCount(),
+                cache.evictedCount(),
+                result,
+                memory);
+        }
+
+        /**
+         * Keys come from a seeded generator, so every policy sees the same requests.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "zipfian,               10000,     1000",
+            "zipfian-1.2,           10000,     1000",
+            "scrambled-zipfian,     10000,     1000",
+            "hotspot,               10000,     1000",
+            "latest,                10000,     1000",
+            "scan-zipfian,          10000,     1000",
+        })
+        void averageCacheMissAndHitLoadTimeWorkload(String workload, int warmUp, int tests) {
+            var cache = getCache();
+            var benchmark = new AvgTimeBenchmark.Builder<Integer, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(Workloads.keys(workload, DB_SIZE, SEED).dataProvider())
+                .testCase((in, ctx) -> {
+                    cache.load(in).ifPresentOrElse(ctx::jitAssert, () -> {
+                        var value = csvRepo.load(in);
+                        cache.cache(in, value);
+                    });
+                    return cache;
+                })
+                .build();
+
+            var memory = MemoryMeter.start();
+            var result = benchmark.run();
+            memory.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageCacheMissAndHitLoadTimeWorkload-" + workload,
+                warmUp,
+                tests,
+                cache.missCount(),
+                cache.evictedCount(),
+                result,
+                memory);
+        }
+
+        /**
+         * Reads and scans load from the repository on a miss, updates and inserts cache a new
+         * value without reading, and read-modify-writes read, then cache what they read.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "A,     10000,     1000",
+            "B,     10000,     1000",
+            "C,     10000,     1000",
+            "D,     10000,     1000",
+            "E,     10000,     1000",
+            "F,     10000,     1000",
+        })
+        void averageYcsbOperationTime(YcsbWorkload.Mix mix, int warmUp, int tests) {
+            var cache = getCache();
+            var workload = new YcsbWorkload(mix, DB_SIZE, SEED);
+            var benchmark = new AvgTimeBenchmark.Builder<YcsbWorkload, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> workload.next())
+                .testCase((in, ctx) -> {
+                    switch (in.operation()) {
+                        case UPDATE:
+                        case INSERT:
+                            cache.cache(in.boxedKey(), UPDATED_VALUE);
+                            break;
+                        case READ_MODIFY_WRITE:
+                            cache.cache(in.boxedKey(), cache.get(in.boxedKey(), csvRepo::load));
+                            break;
+                        default:
+                            for (int offset = 0; offset < in.scanLength(); offset++) {
+                                cache.get(in.boxedKey(offset), csvRepo::load);
+                            }
+                    }
+                    return cache;
+                })
+                .build();
+
+            var memory = MemoryMeter.start();
+            var result = benchmark.run();
+            memory.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageYcsbOperationTime-" + mix,
+                warmUp,
+                tests,
+                cache.missCount(),
+                cache.evictedCount(),
+                result,
+                memory);
+        }
+
+        /**
+         * Heap and buffer pool memory retained per resident entry by caches filled by passes over
+         * all keys. Several caches are measured at once to lift the difference above the noise.
+         * Keys and the value are allocated before the baseline, so only the caches' own structures
+         * are counted, ghost entries included. Direct and mapped buffers are reported apart from
+         * the heap, as off-heap caches keep their entries there.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "1",
+            "2",
+        })
+        void retainedBytesPerEntry(int passes) {
+            var keys = new Integer[DB_SIZE];
+            for (int i = 0; i < DB_SIZE; i++) {
+                keys[i] = i;
+            }
+            var value = csvRepo.load(0);
+            // the first collection settles state initialised lazily by the meter itself
+            MemoryMeter.start().stop();
+            var before = MemoryMeter.start().stop();
+
+            var caches = new ArrayList<Cache<Integer, String>>();
+            for (int i = 0; i < FOOTPRINT_CACHES; i++) {
+                var cache = getCache();
+                for (int pass = 0; pass < passes; pass++) {
+                    for (var key : keys) {
+                        if (cache.load(key).isEmpty()) {
+                            cache.cache(key, value);
+                        }
+                    }
+                }
+                caches.add(cache);
+            }
+            var after = MemoryMeter.start().stop();
+
+            assertThat(caches).hasSize(FOOTPRINT_CACHES);
+            report.addFootprintEntry("retainedBytesPerEntry" + passes,
+                FOOTPRINT_CACHES * DB_SIZE / 4,
+                after.heapUsed() - before.heapUsed(),
+                after.offHeapUsed() - before.offHeapUsed());
         }
 
         private Integer randomLinear() {
@@ -258,6 +470,18 @@ public class CacheBenchmarkSuite {
             }
             return (int) index;
         }
+
+        /**
+         * Half of the requests go to a hot set smaller than the cache, the other half scan
+         * sequentially through all remaining keys, each of which is requested once per pass.
+         */
+        private Integer scanAndHotset() {
+            if (rnd.nextBoolean()) {
+                return rnd.nextInt(HOTSET_SIZE);
+            }
+            scanPosition = (scanPosition + 1) % (DB_SIZE - HOTSET_SIZE);
+            return HOTSET_SIZE + scanPosition;
+        }
     }
 
     @Nested
@@ -291,4 +515,52 @@ public class CacheBenchmarkSuite {
             return new RRCache<>(DB_SIZE / 4);
         }
     }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new WTinyLFUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class ARCBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ARCCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class ClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ClockCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class ClockProBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ClockProCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class S3FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new S3FIFOCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class OffHeapBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new OffHeapCache<>(DB_SIZE / 4, DB_SIZE / 4 * 64L, Serializers.integer(), Serializers.string());
+        }
+    }
 }
@@ -0,0 +1,164 @@
+package run;
+
+import benchmark.AllocationMeter;
+import cache.Cache;
+import cache.ExpiringCache;
+import cache.LRUCache;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.AllocationReportGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overhead of expiration on the hit path, comparing plain policies with the same policies
+ * wrapped in an {@link ExpiringCache} whose entries live long enough to never expire.
+ */
+public class ExpiryBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        private AllocationReportGenerator report;
+        private Cache<Integer, String> cache;
+        private String[] values;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new AllocationReportGenerator(getClass().getSimpleName(), createdAt);
+            cache = getCache();
+            values = new String[DB_SIZE + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = "value" + i;
+            }
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache();
+
+        @ParameterizedTest
+        @CsvSource({
+            "1000000,   1000000",
+            "1000000,   10000000",
+        })
+        void averageLoadTimeAndAllocationGaussianRandom(int warmUp, int tests) {
+            var keys = new int[tests];
+            for (int i = 0; i < tests; i++) {
+                keys[i] = randomGaussian();
+            }
+            for (int i = 0; i < warmUp; i++) {
+                loadOrCache(keys[i % tests]);
+            }
+            cache.clearStats();
+
+            var allocation = AllocationMeter.start();
+            long start = System.nanoTime();
+            for (int i = 0; i < tests; i++) {
+                loadOrCache(keys[i]);
+            }
+            var result = Duration.ofNanos(System.nanoTime() - start);
+            allocation.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageLoadTimeAndAllocationGaussianRandom",
+                tests,
+                cache.missCount(),
+                allocation.allocatedBytes(),
+                result);
+        }
+
+        private void loadOrCache(int key) {
+            if (cache.load(key).isEmpty()) {
+                cache.cache(key, values[key]);
+            }
+        }
+
+        private int randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE, index));
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new LRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class LRUExpireAfterWriteBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ExpiringCache.Builder<Integer, String>()
+                .cache(new LRUCache<>(DB_SIZE / 4))
+                .expireAfterWrite(TTL)
+                .build();
+        }
+    }
+
+    @Nested
+    class LRUExpireAfterAccessBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ExpiringCache.Builder<Integer, String>()
+                .cache(new LRUCache<>(DB_SIZE / 4))
+                .expireAfterAccess(TTL)
+                .build();
+        }
+    }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new WTinyLFUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class WTinyLFUExpireAfterWriteBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ExpiringCache.Builder<Integer, String>()
+                .cache(new WTinyLFUCache<>(DB_SIZE / 4))
+                .expireAfterWrite(TTL)
+                .build();
+        }
+    }
+
+    @Nested
+    class WTinyLFUExpireAfterAccessBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ExpiringCache.Builder<Integer, String>()
+                .cache(new WTinyLFUCache<>(DB_SIZE / 4))
+                .expireAfterAccess(TTL)
+                .build();
+        }
+    }
+}
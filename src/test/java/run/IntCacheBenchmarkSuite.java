@@ -0,0 +1,205 @@
+package run;
+
+import benchmark.AllocationMeter;
+import cache.Cache;
+import cache.FIFOCache;
+import cache.IntCache;
+import cache.IntFIFOCache;
+import cache.IntLRUCache;
+import cache.IntRRCache;
+import cache.LRUCache;
+import cache.RRCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.AllocationReportGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntCacheBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected AllocationReportGenerator report;
+        protected String[] values;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new AllocationReportGenerator(getClass().getSimpleName(), createdAt);
+            values = new String[DB_SIZE + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = "value" + i;
+            }
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract void loadOrCache(int key);
+
+        abstract int missCount();
+
+        abstract void clearStats();
+
+        @ParameterizedTest
+        @CsvSource({
+            "1000000,   1000000",
+            "1000000,   10000000",
+        })
+        void averageLoadTimeAndAllocationGaussianRandom(int warmUp, int tests) {
+            var keys = new int[tests];
+            for (int i = 0; i < tests; i++) {
+                keys[i] = randomGaussian();
+            }
+            for (int i = 0; i < warmUp; i++) {
+                loadOrCache(keys[i % tests]);
+            }
+            clearStats();
+
+            var allocation = AllocationMeter.start();
+            long start = System.nanoTime();
+            for (int i = 0; i < tests; i++) {
+                loadOrCache(keys[i]);
+            }
+            var result = Duration.ofNanos(System.nanoTime() - start);
+            allocation.stop();
+
+            assertThat(result).isNotNull();
+            report.addEntry("averageLoadTimeAndAllocationGaussianRandom",
+                tests,
+                missCount(),
+                allocation.allocatedBytes(),
+                result);
+        }
+
+        private int randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE, index));
+        }
+    }
+
+    private static abstract class GenericSteps extends CommonSteps {
+
+        private Cache<Integer, String> cache;
+
+        abstract Cache<Integer, String> getCache();
+
+        @BeforeEach
+        void setUpCache() {
+            cache = getCache();
+        }
+
+        @Override
+        void loadOrCache(int key) {
+            if (cache.load(key).isEmpty()) {
+                cache.cache(key, values[key]);
+            }
+        }
+
+        @Override
+        int missCount() {
+            return cache.missCount();
+        }
+
+        @Override
+        void clearStats() {
+            cache.clearStats();
+        }
+    }
+
+    private static abstract class IntSteps extends CommonSteps {
+
+        private IntCache<String> cache;
+
+        abstract IntCache<String> getCache();
+
+        @BeforeEach
+        void setUpCache() {
+            cache = getCache();
+        }
+
+        @Override
+        void loadOrCache(int key) {
+            if (cache.load(key).isEmpty()) {
+                cache.cache(key, values[key]);
+            }
+        }
+
+        @Override
+        int missCount() {
+            return cache.missCount();
+        }
+
+        @Override
+        void clearStats() {
+            cache.clearStats();
+        }
+    }
+
+    @Nested
+    class FIFOBenchmark extends GenericSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new FIFOCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class IntFIFOBenchmark extends IntSteps {
+        @Override
+        IntCache<String> getCache() {
+            return new IntFIFOCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends GenericSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new LRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class IntLRUBenchmark extends IntSteps {
+        @Override
+        IntCache<String> getCache() {
+            return new IntLRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class RRBenchmark extends GenericSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new RRCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class IntRRBenchmark extends IntSteps {
+        @Override
+        IntCache<String> getCache() {
+            return new IntRRCache<>(DB_SIZE / 4);
+        }
+    }
+}
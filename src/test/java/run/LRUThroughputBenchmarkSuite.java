@@ -0,0 +1,142 @@
+package run;
+
+import benchmark.ThroughputBenchmark;
+import cache.Cache;
+import cache.ClockCache;
+import cache.ConcurrentClockCache;
+import cache.ConcurrentLRUCache;
+import cache.LRUCache;
+import cache.SegmentedCache;
+import cache.SynchronizedCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.ThroughputReportGenerator;
+
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LRUThroughputBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int OPERATIONS = 1_000_000;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected ThroughputReportGenerator report;
+        protected String[] values;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new ThroughputReportGenerator(getClass().getSimpleName(), createdAt);
+            values = new String[DB_SIZE + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = "value" + i;
+            }
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache();
+
+        @ParameterizedTest
+        @CsvSource({
+            "1",
+            "2",
+            "4",
+            "8",
+            "16",
+        })
+        void throughputGaussianRandom(int threads) {
+            var cache = getCache();
+            var keys = new int[threads][OPERATIONS];
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    keys[t][i] = randomGaussian();
+                }
+            }
+            var benchmark = new ThroughputBenchmark.Builder()
+                .threads(threads)
+                .warmUpOperations(OPERATIONS)
+                .afterWarmupCallback(cache::clearStats)
+                .testOperations(OPERATIONS)
+                .operation((thread, i) -> {
+                    Integer key = keys[thread][i];
+                    if (cache.load(key).isEmpty()) {
+                        cache.cache(key, values[key]);
+                    }
+                })
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(result).isNotNull();
+            report.addEntry("throughputGaussianRandom",
+                threads,
+                benchmark.totalOperations(),
+                cache.missCount(),
+                result);
+        }
+
+        private int randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE, index));
+        }
+    }
+
+    @Nested
+    class SynchronizedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new LRUCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class SegmentedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return SegmentedCache.lru(DB_SIZE / 4, 16);
+        }
+    }
+
+    @Nested
+    class ConcurrentLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ConcurrentLRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class SynchronizedClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new ClockCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class ConcurrentClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ConcurrentClockCache<>(DB_SIZE / 4);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package run;
+
+import benchmark.AllocationMeter;
+import cache.ARCCache;
+import cache.Cache;
+import cache.ClockCache;
+import cache.ClockProCache;
+import cache.ConcurrentClockCache;
+import cache.ConcurrentLRUCache;
+import cache.FIFOCache;
+import cache.LFRUCache;
+import cache.LRUCache;
+import cache.S3FIFOCache;
+import cache.SegmentedCache;
+import cache.SynchronizedCache;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.AllocationReportGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated per lookup through {@link Cache#load}, which returns an {@link java.util.Optional},
+ * compared with {@link Cache#getIfPresent} and {@link Cache#get}. Keys are boxed up front, so only
+ * the cache allocates. With a capacity above the key space every measured lookup is a hit and
+ * shows the lookup path alone; at a quarter of it misses add the nodes of newly cached entries.
+ */
+public class LookupAllocationBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected AllocationReportGenerator report;
+        protected Integer[] keys;
+        protected String[] values;
+        protected Cache<Integer, String> cache;
+        private Function<Integer, String> loader;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new AllocationReportGenerator(getClass().getSimpleName(), createdAt);
+            keys = new Integer[DB_SIZE + 1];
+            values = new String[DB_SIZE + 1];
+            for (int i = 0; i < values.length; i++) {
+                keys[i] = i;
+                values[i] = "value" + i;
+            }
+            loader = key -> values[key];
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache(int capacity);
+
+        @ParameterizedTest
+        @CsvSource({
+            "3750,      1000000,    1000000",
+            "15001,     1000000,    1000000",
+        })
+        void loadAllocationGaussianRandom(int capacity, int warmUp, int tests) {
+            cache = getCache(capacity);
+            measure("loadAllocationGaussianRandom" + capacity, warmUp, tests, key -> {
+                if (cache.load(keys[key]).isEmpty()) {
+                    cache.cache(keys[key], values[key]);
+                }
+            });
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "3750,      1000000,    1000000",
+            "15001,     1000000,    1000000",
+        })
+        void getIfPresentAllocationGaussianRandom(int capacity, int warmUp, int tests) {
+            cache = getCache(capacity);
+            measure("getIfPresentAllocationGaussianRandom" + capacity, warmUp, tests, key -> {
+                if (cache.getIfPresent(keys[key]) == null) {
+                    cache.cache(keys[key], values[key]);
+                }
+            });
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "3750,      1000000,    1000000",
+            "15001,     1000000,    1000000",
+        })
+        void getAllocationGaussianRandom(int capacity, int warmUp, int tests) {
+            cache = getCache(capacity);
+            measure("getAllocationGaussianRandom" + capacity, warmUp, tests, key -> cache.get(keys[key], loader));
+        }
+
+        private void measure(String method, int warmUp, int tests, IntConsumer lookup) {
+            var requests = new int[tests];
+            for (int i = 0; i < tests; i++) {
+                requests[i] = randomGaussian();
+            }
+            for (int i = 0; i < warmUp; i++) {
+                lookup.accept(requests[i % tests]);
+            }
+            cache.clearStats();
+
+            var allocation = AllocationMeter.start();
+            long start = System.nanoTime();
+            for (int i = 0; i < tests; i++) {
+                lookup.accept(requests[i]);
+            }
+            var result = Duration.ofNanos(System.nanoTime() - start);
+            allocation.stop();
+
+            assertThat(cache.stats().requestCount()).isEqualTo(tests);
+            report.addEntry(method, tests, cache.missCount(), allocation.allocatedBytes(), result);
+        }
+
+        private int randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE, index));
+        }
+    }
+
+    @Nested
+    class FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new FIFOCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new LRUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class LFRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new LFRUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ARCBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ARCCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new WTinyLFUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ClockCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ClockProBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ClockProCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class S3FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new S3FIFOCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ConcurrentLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ConcurrentLRUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ConcurrentClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ConcurrentClockCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class SynchronizedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new SynchronizedCache<>(new LRUCache<>(capacity));
+        }
+    }
+
+    @Nested
+    class SegmentedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return SegmentedCache.lru(capacity, 8);
+        }
+    }
+}
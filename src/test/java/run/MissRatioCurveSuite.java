@@ -0,0 +1,145 @@
+package run;
+
+import benchmark.MissRatioCurve;
+import benchmark.Trace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.MissRatioCurveReportGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.NavigableMap;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Computes LRU miss ratio curves in one pass with {@link MissRatioCurve}, exactly and with
+ * SHARDS sampling, and reports how far the sampled curves are from the exact one. A production
+ * trace is processed with {@code -Dtrace=<file>}, plus {@code -Dtrace.format=binary},
+ * {@code -Dmrc.maxCapacity} and {@code -Dmrc.samplingRate} or {@code -Dmrc.maxSamples}.
+ */
+public class MissRatioCurveSuite {
+
+    private static final int KEYS = 1_000_000;
+    private static final int REQUESTS = 5_000_000;
+    private static final int STEP = KEYS / 100;
+
+    @TempDir
+    static Path directory;
+
+    private static Instant createdAt;
+    private static Trace trace;
+    private static NavigableMap<Integer, Double> exactCurve;
+
+    private MissRatioCurveReportGenerator report;
+
+    @BeforeAll
+    static void setUpAll() throws IOException {
+        createdAt = Instant.now();
+        trace = writeSyntheticTrace(directory.resolve("trace.bin"));
+        var exact = new MissRatioCurve.Builder().maxCapacity(KEYS).build();
+        exact.recordAll(trace);
+        exactCurve = exact.missRatios(STEP);
+    }
+
+    @BeforeEach
+    void setUp() {
+        report = new MissRatioCurveReportGenerator(getClass().getSimpleName(), createdAt);
+    }
+
+    @AfterEach
+    void after() {
+        report.write();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1.0,       2147483647",
+        "0.1,       2147483647",
+        "0.01,      2147483647",
+        "0.001,     2147483647",
+        "1.0,       65536",
+        "1.0,       8192",
+    })
+    void missRatioCurve(double samplingRate, int maxSamples) {
+        var curve = new MissRatioCurve.Builder()
+            .maxCapacity(KEYS)
+            .samplingRate(samplingRate)
+            .maxSamples(maxSamples)
+            .build();
+
+        long start = System.nanoTime();
+        curve.recordAll(trace);
+        var time = Duration.ofNanos(System.nanoTime() - start);
+
+        var missRatios = curve.missRatios(STEP);
+        double maxError = 0;
+        for (var point : missRatios.entrySet()) {
+            maxError = Math.max(maxError, Math.abs(point.getValue() - exactCurve.get(point.getKey())));
+        }
+        assertThat(curve.requests()).isEqualTo(REQUESTS);
+        report.addEntry("missRatioCurve" + samplingRate + "_" + maxSamples,
+            curve.requests(),
+            curve.sampledRequests(),
+            curve.trackedKeys(),
+            curve.samplingRate(),
+            maxError,
+            time,
+            missRatios);
+    }
+
+    @Test
+    void missRatioCurveOfTraceFromProperty() {
+        var file = System.getProperty("trace");
+        assumeTrue(file != null, "no -Dtrace=<file> given");
+        var path = Paths.get(file);
+        var trace = "binary".equals(System.getProperty("trace.format")) ? Trace.binary(path) : Trace.text(path);
+        int maxCapacity = Integer.getInteger("mrc.maxCapacity", KEYS);
+        var curve = new MissRatioCurve.Builder()
+            .maxCapacity(maxCapacity)
+            .samplingRate(Double.parseDouble(System.getProperty("mrc.samplingRate", "1.0")))
+            .maxSamples(Integer.getInteger("mrc.maxSamples", Integer.MAX_VALUE))
+            .build();
+
+        long start = System.nanoTime();
+        curve.recordAll(trace);
+        var time = Duration.ofNanos(System.nanoTime() - start);
+
+        report.addEntry(trace.toString(),
+            curve.requests(),
+            curve.sampledRequests(),
+            curve.trackedKeys(),
+            curve.samplingRate(),
+            Double.NaN,
+            time,
+            curve.missRatios(Math.max(1, maxCapacity / 100)));
+    }
+
+    /**
+     * Power law over a key space much larger than a SHARDS sample, with the key ranks
+     * scrambled so popularity does not follow key order.
+     */
+    private static Trace writeSyntheticTrace(Path file) throws IOException {
+        var rnd = new Random(42);
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 0; i < REQUESTS; i++) {
+                long rank = (long) Math.floor(Math.pow(rnd.nextDouble(), 3) * KEYS);
+                out.writeLong(rank * 0x9e3779b97f4a7c15L);
+            }
+        }
+        return Trace.binary(file);
+    }
+}
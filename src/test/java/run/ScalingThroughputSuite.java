@@ -0,0 +1,182 @@
+package run;
+
+import benchmark.ThroughputBenchmark;
+import cache.Cache;
+import cache.ConcurrentClockCache;
+import cache.ConcurrentLRUCache;
+import cache.LRUCache;
+import cache.S3FIFOCache;
+import cache.SegmentedCache;
+import cache.SynchronizedCache;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import report.ScalingReportGenerator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scales the number of threads sharing one cache from 1 up to all cores, doubling it each
+ * time, under a mix of reads and writes. Reports throughput of all threads together, latency
+ * percentiles overall and per thread, and time spent blocked or parked on locks. Policies
+ * which are not thread-safe run behind a {@link SynchronizedCache} as the baseline.
+ * <p>
+ * Write percentages default to 5 and 50, {@code -Dscaling.writes=0,5,100} overrides them.
+ */
+public class ScalingThroughputSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int OPERATIONS = 1_000_000;
+    private static final int KEYS_PER_THREAD = 1 << 16;
+    private static final int LATENCY_SAMPLE_INTERVAL = 16;
+
+    static Stream<Arguments> threadsAndWritePercentages() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threads = new ArrayList<>();
+        for (int count = 1; count < cores; count *= 2) {
+            threads.add(count);
+        }
+        threads.add(cores);
+        var writes = System.getProperty("scaling.writes", "5,50");
+        return Arrays.stream(writes.split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .flatMap(writePercentage -> threads.stream().map(count -> Arguments.of(count, writePercentage)));
+    }
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected ScalingReportGenerator report;
+        protected String[] values;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new ScalingReportGenerator(getClass().getSimpleName(), createdAt);
+            values = new String[DB_SIZE + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = "value" + i;
+            }
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache();
+
+        /**
+         * Every thread replays its own Gaussian keys, a read caching the value on a miss and a
+         * write replacing it. Boxed keys are prepared up front so only the cache is measured.
+         */
+        @ParameterizedTest
+        @MethodSource("run.ScalingThroughputSuite#threadsAndWritePercentages")
+        void throughputGaussianRandom(int threads, int writePercentage) {
+            var cache = getCache();
+            var rnd = new Random(threads);
+            var keys = new Integer[threads][KEYS_PER_THREAD];
+            var writes = new boolean[threads][KEYS_PER_THREAD];
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                    long index = Math.round(rnd.nextGaussian() * DB_SIZE / 15 + DB_SIZE / 2.0);
+                    keys[t][i] = (int) Math.max(0, Math.min(DB_SIZE, index));
+                    writes[t][i] = rnd.nextInt(100) < writePercentage;
+                }
+            }
+            var benchmark = new ThroughputBenchmark.Builder()
+                .threads(threads)
+                .warmUpOperations(OPERATIONS / 4)
+                .afterWarmupCallback(cache::clearStats)
+                .testOperations(OPERATIONS)
+                .latencySampleInterval(LATENCY_SAMPLE_INTERVAL)
+                .measureContention(true)
+                .operation((thread, i) -> {
+                    int slot = i & (KEYS_PER_THREAD - 1);
+                    Integer key = keys[thread][slot];
+                    if (writes[thread][slot]) {
+                        cache.cache(key, values[key]);
+                    } else if (cache.getIfPresent(key) == null) {
+                        cache.cache(key, values[key]);
+                    }
+                })
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(benchmark.totalOperations()).isEqualTo((long) threads * OPERATIONS);
+            report.addEntry("throughputGaussianRandom",
+                threads,
+                writePercentage,
+                cache.stats().hitRate(),
+                benchmark,
+                result);
+        }
+    }
+
+    @Nested
+    class SynchronizedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new LRUCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class SynchronizedWTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new WTinyLFUCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class SynchronizedS3FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new S3FIFOCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class SegmentedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return SegmentedCache.lru(DB_SIZE / 4, 16);
+        }
+    }
+
+    @Nested
+    class ConcurrentLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ConcurrentLRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class ConcurrentClockBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ConcurrentClockCache<>(DB_SIZE / 4);
+        }
+    }
+}
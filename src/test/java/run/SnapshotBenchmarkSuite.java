@@ -0,0 +1,171 @@
+package run;
+
+import cache.ARCCache;
+import cache.Cache;
+import cache.CacheSnapshot;
+import cache.LRUCache;
+import cache.S3FIFOCache;
+import cache.Serializers;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.SnapshotReportGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how long writing and restoring a {@link CacheSnapshot} takes for millions of entries,
+ * and how much of the hit ratio a restored cache keeps compared to starting cold.
+ */
+public class SnapshotBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        @TempDir
+        Path directory;
+
+        protected SnapshotReportGenerator report;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            report = new SnapshotReportGenerator(getClass().getSimpleName(), createdAt);
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache(int capacity);
+
+        /**
+         * Every third key is hit once, so policies tracking frequency have metadata to restore.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "1000000",
+            "2000000",
+        })
+        void writeAndRestoreTime(int entries) throws IOException {
+            var file = directory.resolve("cache.snapshot");
+            var cache = getCache(entries);
+            for (int key = 0; key < entries; key++) {
+                cache.cache(key, "value" + key);
+                if (key % 3 == 0) {
+                    cache.load(key);
+                }
+            }
+
+            long start = System.nanoTime();
+            long written = CacheSnapshot.write(cache, file, Serializers.integer(), Serializers.string());
+            var writeTime = Duration.ofNanos(System.nanoTime() - start);
+            cache = null;
+
+            var restored = getCache(entries);
+            start = System.nanoTime();
+            long read = CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string());
+            var restoreTime = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(read).isEqualTo(written);
+            assertThat(restored.load(entries - 1)).contains("value" + (entries - 1));
+            report.addRestoreEntry("writeAndRestoreTime", read, Files.size(file), writeTime, restoreTime);
+        }
+
+        /**
+         * Warms a cache, snapshots it and compares the hit ratio of the following requests
+         * on a restored cache with the one on a cold cache.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "10000,     1000",
+        })
+        void hitRatioAfterRestoreGaussianRandom(int warmUp, int tests) {
+            var file = directory.resolve("cache.snapshot");
+            var warm = getCache(DB_SIZE / 4);
+            for (int i = 0; i < warmUp; i++) {
+                loadOrCache(warm, randomGaussian());
+            }
+            CacheSnapshot.write(warm, file, Serializers.integer(), Serializers.string());
+
+            var cold = getCache(DB_SIZE / 4);
+            var restored = getCache(DB_SIZE / 4);
+            CacheSnapshot.restore(file, restored, Serializers.integer(), Serializers.string());
+            for (int i = 0; i < tests; i++) {
+                int key = randomGaussian();
+                loadOrCache(cold, key);
+                loadOrCache(restored, key);
+            }
+
+            assertThat(restored.stats().hitCount()).isGreaterThanOrEqualTo(cold.stats().hitCount());
+            report.addHitRatioEntry("hitRatioAfterRestoreGaussianRandom",
+                tests,
+                cold.stats().hitRate() * 100.0,
+                restored.stats().hitRate() * 100.0);
+        }
+
+        private void loadOrCache(Cache<Integer, String> cache, int key) {
+            if (cache.load(key).isEmpty()) {
+                cache.cache(key, "value" + key);
+            }
+        }
+
+        private int randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE - 1, index));
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new LRUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class ARCBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new ARCCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class WTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new WTinyLFUCache<>(capacity);
+        }
+    }
+
+    @Nested
+    class S3FIFOBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(int capacity) {
+            return new S3FIFOCache<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package run;
+
+import benchmark.ThroughputBenchmark;
+import cache.Cache;
+import cache.ConcurrentLRUCache;
+import cache.LRUCache;
+import cache.SegmentedCache;
+import cache.SynchronizedCache;
+import data.CsvRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.StampedeReportGenerator;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every thread walks the same sequence of keys missing in the cache, so each key is
+ * requested by all threads at about the same time, like a hot key which just expired.
+ */
+public class StampedeBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        protected CsvRepo csvRepo;
+        protected StampedeReportGenerator report;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            csvRepo = new CsvRepo();
+            report = new StampedeReportGenerator(getClass().getSimpleName(), createdAt);
+        }
+
+        @AfterEach
+        void after() {
+            report.write();
+        }
+
+        abstract Cache<Integer, String> getCache();
+
+        @ParameterizedTest
+        @CsvSource({
+            "4,     100",
+            "16,    100",
+            "64,    100",
+        })
+        void stampedeLoadAndCache(int threads, int keys) {
+            var cache = getCache();
+            var calls = new AtomicInteger();
+            Function<Integer, String> loader = countingLoader(calls);
+            var benchmark = new ThroughputBenchmark.Builder()
+                .threads(threads)
+                .testOperations(keys)
+                .operation((thread, i) -> {
+                    Integer key = i * (DB_SIZE / keys);
+                    if (cache.load(key).isEmpty()) {
+                        cache.cache(key, loader.apply(key));
+                    }
+                })
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(calls.get()).isGreaterThanOrEqualTo(keys);
+            report.addEntry("stampedeLoadAndCache", threads, keys, calls.get(), result);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "4,     100",
+            "16,    100",
+            "64,    100",
+        })
+        void stampedeGetWithLoader(int threads, int keys) {
+            var cache = getCache();
+            var calls = new AtomicInteger();
+            Function<Integer, String> loader = countingLoader(calls);
+            var benchmark = new ThroughputBenchmark.Builder()
+                .threads(threads)
+                .testOperations(keys)
+                .operation((thread, i) -> cache.get(i * (DB_SIZE / keys), loader))
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(calls.get()).isGreaterThanOrEqualTo(keys);
+            report.addEntry("stampedeGetWithLoader", threads, keys, calls.get(), result);
+        }
+
+        private Function<Integer, String> countingLoader(AtomicInteger calls) {
+            return key -> {
+                calls.incrementAndGet();
+                return csvRepo.load(key);
+            };
+        }
+    }
+
+    @Nested
+    class SynchronizedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new SynchronizedCache<>(new LRUCache<>(DB_SIZE / 4));
+        }
+    }
+
+    @Nested
+    class SegmentedLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return SegmentedCache.lru(DB_SIZE / 4, 16);
+        }
+    }
+
+    @Nested
+    class ConcurrentLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache() {
+            return new ConcurrentLRUCache<>(DB_SIZE / 4);
+        }
+    }
+}
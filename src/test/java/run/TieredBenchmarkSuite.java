@@ -0,0 +1,178 @@
+package run;
+
+import benchmark.AvgTimeBenchmark;
+import cache.Cache;
+import cache.CacheStats;
+import cache.LRUCache;
+import cache.MappedLogCache;
+import cache.Serializers;
+import cache.TieredCache;
+import cache.WTinyLFUCache;
+import data.CsvRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.TieredReportGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serving first tier evictions from a memory-mapped second tier with reloading them
+ * from the backing store. The second tier is large enough for the whole data set, so after
+ * warm up every first tier miss of a tiered cache is a second tier hit.
+ */
+public class TieredBenchmarkSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int SEGMENT_SIZE = 64 << 10;
+    private static final int MAX_SEGMENTS = 8;
+    private static final Random rnd = new Random();
+
+    private static abstract class CommonSteps {
+
+        private static Instant createdAt;
+
+        @TempDir
+        Path directory;
+
+        protected CsvRepo csvRepo;
+        protected TieredReportGenerator report;
+        protected Cache<Integer, String> cache;
+        private int scanPosition;
+
+        @BeforeAll
+        static void setUpAll() {
+            createdAt = Instant.now();
+        }
+
+        @BeforeEach
+        void setUp() {
+            csvRepo = new CsvRepo();
+            report = new TieredReportGenerator(getClass().getSimpleName(), createdAt);
+            cache = getCache(directory);
+        }
+
+        @AfterEach
+        void after() throws IOException {
+            report.write();
+            if (cache instanceof Closeable) {
+                ((Closeable) cache).close();
+            }
+        }
+
+        abstract Cache<Integer, String> getCache(Path directory);
+
+        /**
+         * Sequential passes over all keys, so every key falls out of the first tier before
+         * it is requested again.
+         */
+        @ParameterizedTest
+        @CsvSource({
+            "0,         1000",
+            "15000,     1000",
+        })
+        void averageCacheMissAndHitLoadTimeScan(int warmUp, int tests) {
+            var benchmark = new AvgTimeBenchmark.Builder<Integer, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> scan())
+                .testCase((in, ctx) -> {
+                    cache.load(in).ifPresentOrElse(ctx::jitAssert, () -> {
+                        var value = csvRepo.load(in);
+                        cache.cache(in, value);
+                    });
+                    return cache;
+                })
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(result).isNotNull();
+            addEntry("averageCacheMissAndHitLoadTimeScan", warmUp, tests, result);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "0,         1000",
+            "10000,     1000",
+        })
+        void averageCacheMissAndHitLoadTimeGaussianRandom(int warmUp, int tests) {
+            var benchmark = new AvgTimeBenchmark.Builder<Integer, Object>()
+                .testCaseIterations(tests)
+                .warmUpIterations(warmUp)
+                .afterWarmupCallback(cache::clearStats)
+                .dataProvider(i -> randomGaussian())
+                .testCase((in, ctx) -> {
+                    cache.load(in).ifPresentOrElse(ctx::jitAssert, () -> {
+                        var value = csvRepo.load(in);
+                        cache.cache(in, value);
+                    });
+                    return cache;
+                })
+                .build();
+
+            var result = benchmark.run();
+
+            assertThat(result).isNotNull();
+            addEntry("averageCacheMissAndHitLoadTimeGaussianRandom", warmUp, tests, result);
+        }
+
+        private void addEntry(String method, int warmUp, int tests, Duration result) {
+            var stats = cache.stats();
+            if (cache instanceof TieredCache) {
+                var tiered = (TieredCache<Integer, String>) cache;
+                report.addEntry(method, warmUp, tests, stats, tiered.firstTierStats(), tiered.secondTierStats(), result);
+            } else {
+                report.addEntry(method, warmUp, tests, stats, stats, CacheStats.empty(), result);
+            }
+        }
+
+        private Integer scan() {
+            scanPosition = (scanPosition + 1) % DB_SIZE;
+            return scanPosition;
+        }
+
+        private Integer randomGaussian() {
+            long index = Math.round(rnd.nextGaussian() * DB_SIZE/15 + DB_SIZE/2.0);
+            return (int) Math.max(0, Math.min(DB_SIZE - 1, index));
+        }
+    }
+
+    @Nested
+    class LRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(Path directory) {
+            return new LRUCache<>(DB_SIZE / 4);
+        }
+    }
+
+    @Nested
+    class TieredLRUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(Path directory) {
+            return new TieredCache<>(new LRUCache<>(DB_SIZE / 4),
+                new MappedLogCache<>(directory, SEGMENT_SIZE, MAX_SEGMENTS, Serializers.integer(), Serializers.string()));
+        }
+    }
+
+    @Nested
+    class TieredWTinyLFUBenchmark extends CommonSteps {
+        @Override
+        Cache<Integer, String> getCache(Path directory) {
+            return new TieredCache<>(new WTinyLFUCache<>(DB_SIZE / 4),
+                new MappedLogCache<>(directory, SEGMENT_SIZE, MAX_SEGMENTS, Serializers.integer(), Serializers.string()));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package run;
+
+import benchmark.Trace;
+import benchmark.TraceSimulator;
+import cache.ARCCache;
+import cache.ClockCache;
+import cache.ClockProCache;
+import cache.FIFOCache;
+import cache.LFRUCache;
+import cache.LRUCache;
+import cache.RRCache;
+import cache.S3FIFOCache;
+import cache.WTinyLFUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.SimulationReportGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Replays key traces against every policy and capacity with {@link TraceSimulator}.
+ * A production trace is replayed with {@code -Dtrace=<file>}, plus {@code -Dtrace.format=binary}
+ * for a trace of big-endian longs and {@code -Dtrace.capacities=1000,10000} to override the
+ * default capacities.
+ */
+public class TraceSimulationSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int HOTSET_SIZE = DB_SIZE / 10;
+    private static final int[] CAPACITIES = {DB_SIZE / 16, DB_SIZE / 8, DB_SIZE / 4, DB_SIZE / 2};
+
+    private static Instant createdAt;
+
+    @TempDir
+    Path directory;
+
+    private SimulationReportGenerator report;
+
+    @BeforeAll
+    static void setUpAll() {
+        createdAt = Instant.now();
+    }
+
+    @BeforeEach
+    void setUp() {
+        report = new SimulationReportGenerator(getClass().getSimpleName(), createdAt);
+    }
+
+    @AfterEach
+    void after() {
+        report.write();
+    }
+
+    /**
+     * Phases of Gaussian requests around a moving center alternate with phases of half
+     * hot set, half sequential scan, so recency and frequency both matter.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "text,      1000000",
+        "binary,    1000000",
+    })
+    void replaySyntheticTrace(String format, int requests) throws IOException {
+        var keys = syntheticKeys(requests);
+        var trace = format.equals("binary") ? writeBinary(keys) : writeText(keys);
+
+        var results = simulator(trace, CAPACITIES).run();
+
+        assertThat(results).hasSize(9 * CAPACITIES.length);
+        assertThat(results).allSatisfy(result -> assertThat(result.requests()).isEqualTo(requests));
+        results.forEach(result -> report.addEntry("synthetic-" + format, result));
+    }
+
+    @Test
+    void replayTraceFromProperty() {
+        var file = System.getProperty("trace");
+        assumeTrue(file != null, "no -Dtrace=<file> given");
+        var path = Paths.get(file);
+        var trace = "binary".equals(System.getProperty("trace.format")) ? Trace.binary(path) : Trace.text(path);
+        var capacities = System.getProperty("trace.capacities") == null ? CAPACITIES :
+            Arrays.stream(System.getProperty("trace.capacities").split(",")).mapToInt(Integer::parseInt).toArray();
+
+        var results = simulator(trace, capacities).run();
+
+        results.forEach(result -> report.addEntry(trace.toString(), result));
+    }
+
+    private static TraceSimulator simulator(Trace trace, int[] capacities) {
+        return new TraceSimulator.Builder()
+            .trace(trace)
+            .capacities(capacities)
+            .policy("FIFO", FIFOCache::new)
+            .policy("RR", RRCache::new)
+            .policy("LRU", LRUCache::new)
+            .policy("LFRU", LFRUCache::new)
+            .policy("ARC", ARCCache::new)
+            .policy("WTinyLFU", WTinyLFUCache::new)
+            .policy("Clock", ClockCache::new)
+            .policy("ClockPro", ClockProCache::new)
+            .policy("S3FIFO", S3FIFOCache::new)
+            .build();
+    }
+
+    private static long[] syntheticKeys(int requests) {
+        var rnd = new Random(42);
+        var keys = new long[requests];
+        int scanPosition = 0;
+        for (int i = 0; i < requests; i++) {
+            int phase = i / 100000;
+            if (phase % 2 == 0) {
+                double center = DB_SIZE * (0.25 + 0.1 * (phase % 6));
+                keys[i] = Math.max(0, Math.min(DB_SIZE - 1, Math.round(rnd.nextGaussian() * DB_SIZE / 15 + center)));
+            } else if (rnd.nextBoolean()) {
+                keys[i] = rnd.nextInt(HOTSET_SIZE);
+            } else {
+                scanPosition = (scanPosition + 1) % (DB_SIZE - HOTSET_SIZE);
+                keys[i] = HOTSET_SIZE + scanPosition;
+            }
+        }
+        return keys;
+    }
+
+    private Trace writeText(long[] keys) throws IOException {
+        var file = directory.resolve("trace.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (long key : keys) {
+                writer.write(Long.toString(key));
+                writer.newLine();
+            }
+        }
+        return Trace.text(file);
+    }
+
+    private Trace writeBinary(long[] keys) throws IOException {
+        var file = directory.resolve("trace.bin");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+        }
+        return Trace.binary(file);
+    }
+}
@@ -0,0 +1,83 @@
+package run;
+
+import benchmark.workload.PrecomputedKeys;
+import benchmark.workload.Workloads;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import report.WorkloadReportGenerator;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of generating a key and the shape of each workload, to check generation stays well
+ * below the time of the cache operations it feeds, sampled on the fly and replayed from
+ * {@link PrecomputedKeys}.
+ */
+public class WorkloadGeneratorSuite {
+
+    private static final int DB_SIZE = 15000;
+    private static final int WARM_UP_KEYS = 1_000_000;
+    private static final int KEYS = 10_000_000;
+
+    private static Instant createdAt;
+
+    private WorkloadReportGenerator report;
+
+    @BeforeAll
+    static void setUpAll() {
+        createdAt = Instant.now();
+    }
+
+    @BeforeEach
+    void setUp() {
+        report = new WorkloadReportGenerator(getClass().getSimpleName(), createdAt);
+    }
+
+    @AfterEach
+    void after() {
+        report.write();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "uniform,               false",
+        "zipfian,               false",
+        "zipfian-0.5,           false",
+        "zipfian-1.2,           false",
+        "scrambled-zipfian,     false",
+        "hotspot,               false",
+        "latest,                false",
+        "scan-zipfian,          false",
+        "zipfian,               true",
+        "scrambled-zipfian,     true",
+    })
+    void nanosPerKey(String workload, boolean precomputed) {
+        var generator = Workloads.keys(workload, DB_SIZE, 42);
+        if (precomputed) {
+            generator = new PrecomputedKeys(generator, 1 << 20);
+        }
+        var counts = new int[DB_SIZE];
+        for (int i = 0; i < WARM_UP_KEYS; i++) {
+            counts[generator.nextKey()]++;
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < KEYS; i++) {
+            counts[generator.nextKey()]++;
+        }
+        long time = System.nanoTime() - begin;
+
+        int distinct = 0;
+        int hottest = 0;
+        for (int count : counts) {
+            distinct += count > 0 ? 1 : 0;
+            hottest = Math.max(hottest, count);
+        }
+        assertThat(distinct).isPositive();
+        report.addEntry(precomputed ? "precomputed-" + workload : workload, KEYS, distinct, hottest * 100.0 / (WARM_UP_KEYS + KEYS), (double) time / KEYS);
+    }
+}